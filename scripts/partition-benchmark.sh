@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Seeds ROWS orders across MONTHS monthly partitions, then reports pgbench insert rate and read latency
+# for the recent-orders-by-user query, and for id lookups with and without creation_date.
+set -euo pipefail
+
+ROWS=${ROWS:-100000000}
+MONTHS=${MONTHS:-36}
+USERS=${USERS:-1000000}
+BATCH=${BATCH:-1000000}
+CLIENTS=${CLIENTS:-8}
+DURATION=${DURATION:-60}
+
+cd "$(dirname "$0")/.."
+
+set -a
+[ -f .env ] && . ./.env
+set +a
+
+docker compose build migrations
+docker compose up -d postgres
+docker compose run --rm migrations
+
+psql() {
+  docker compose exec -T postgres psql -v ON_ERROR_STOP=1 -qAt -U "$POSTGRES_USERNAME" -d database "$@"
+}
+
+psql -c "select create_order_partitions((current_date - interval '$MONTHS months')::date,
+                                        (current_date + interval '3 months')::date)" > /dev/null
+
+seeded=$(psql -c "select count(*) from orders")
+for ((from = seeded; from < ROWS; from += BATCH)); do
+  to=$(( from + BATCH < ROWS ? from + BATCH : ROWS ))
+  psql -c "insert into orders (id, user_id, status, creation_date)
+           select md5('order' || i)::uuid, md5('user' || i % $USERS)::uuid,
+               (array['CREATED', 'IN_PROGRESS', 'DELIVERED', 'CANCELLED'])[1 + i % 4],
+               current_date - (i % ($MONTHS * 30))
+           from generate_series($from, $to - 1) i"
+  echo "seeded $to / $ROWS orders"
+done
+psql -c "vacuum analyze orders"
+
+bench() {
+  local label=$1 script=$2
+  docker compose exec -T postgres sh -c "cat > /tmp/bench.sql" <<< "$script"
+  echo "$label:"
+  docker compose exec -T postgres pgbench -n -U "$POSTGRES_USERNAME" -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" \
+      -D rows="$ROWS" -D users="$USERS" -D days="$(( MONTHS * 30 ))" -f /tmp/bench.sql database \
+      | grep -E "latency average|tps"
+}
+
+bench insert "
+\set u random(0, :users - 1)
+insert into orders (id, user_id, status, creation_date)
+values (gen_random_uuid(), md5('user' || :u)::uuid, 'CREATED', current_date);"
+
+bench recent-by-user "
+\set u random(0, :users - 1)
+select id from orders where user_id = md5('user' || :u)::uuid order by creation_date desc, id desc limit 20;"
+
+bench by-id "
+\set i random(0, :rows - 1)
+select id, status from orders where id = md5('order' || :i)::uuid;"
+
+bench by-id-and-date "
+\set i random(0, :rows - 1)
+select id, status from orders where id = md5('order' || :i)::uuid and creation_date = current_date - (:i % :days);"
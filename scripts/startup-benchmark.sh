@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Reports time-to-ready of the default app image and the opt-in fast-startup (AOT) image.
+set -euo pipefail
+
+RUNS=${RUNS:-3}
+PORT=${PORT:-18082}
+
+cd "$(dirname "$0")/.."
+
+docker compose --profile fast-startup build app app-fast-startup
+docker compose up -d postgres
+docker compose run --rm migrations
+
+measure() {
+  local label=$1 service=$2
+  shift 2
+  for run in $(seq "$RUNS"); do
+    local start container
+    start=$(date +%s%N)
+    container=$(docker compose run -d --rm --no-deps -p "$PORT:8080" "$@" "$service")
+    until curl -fs "http://localhost:$PORT/actuator/health/readiness" > /dev/null; do
+      sleep 0.1
+    done
+    echo "$label run $run: $(( ($(date +%s%N) - start) / 1000000 )) ms"
+    docker rm -f "$container" > /dev/null
+  done
+}
+
+measure baseline app -e JAVA_TOOL_OPTIONS= -e LIQUIBASE_ENABLED=true
+measure default app -e LIQUIBASE_ENABLED=false
+measure fast-startup app-fast-startup -e LIQUIBASE_ENABLED=false
@@ -0,0 +1,86 @@
+package org.example.orderserver.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.repository.ArchivedOrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchiver {
+    private static final String[] TERMINAL_STATUSES = Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::isTerminal)
+            .map(Enum::name)
+            .toArray(String[]::new);
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration age;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration batchPause;
+
+    private final Counter archivedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    public OrderArchiver(ArchivedOrderRepository archivedOrderRepository, TransactionTemplate transactionTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${orders.archive.age:90d}") Duration age,
+                         @Value("${orders.archive.batch-size:500}") int batchSize,
+                         @Value("${orders.archive.max-batches:20}") int maxBatches,
+                         @Value("${orders.archive.batch-pause:200ms}") Duration batchPause) {
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.age = age;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchPause = batchPause;
+
+        archivedCounter = meterRegistry.counter("orders.archive.archived");
+        failedCounter = meterRegistry.counter("orders.archive.failed");
+        batchTimer = meterRegistry.timer("orders.archive.batch");
+    }
+
+    @Scheduled(fixedDelayString = "${orders.archive.poll-interval:10m}")
+    public void archive() {
+        OffsetDateTime before = OffsetDateTime.now().minus(age);
+        for (int i = 0; i < maxBatches; i++) {
+            int archived;
+            try {
+                archived = batchTimer.record(() -> transactionTemplate.execute(
+                        status -> archivedOrderRepository.archiveBatch(TERMINAL_STATUSES, before, batchSize)));
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.warn("Order archive batch failed", e);
+                return;
+            }
+            archivedCounter.increment(archived);
+
+            if (archived < batchSize || !pause()) {
+                return;
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
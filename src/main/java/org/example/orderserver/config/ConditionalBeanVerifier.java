@@ -0,0 +1,64 @@
+package org.example.orderserver.config;
+
+import org.example.orderserver.archive.OrderArchiver;
+import org.example.orderserver.outbox.LoggingOutboxSink;
+import org.example.orderserver.outbox.OutboxRelay;
+import org.example.orderserver.outbox.WebhookOutboxSink;
+import org.example.orderserver.processing.OrderProcessingScheduler;
+import org.example.orderserver.stream.OrderStatusListener;
+import org.example.orderserver.warmup.WarmupRunner;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * With Spring AOT the {@code @ConditionalOnProperty} toggles are evaluated when the image is built, so a toggle
+ * changed at deploy time would be silently ignored. This fails startup instead when a toggle and the beans that
+ * were actually registered disagree.
+ */
+@Component
+public class ConditionalBeanVerifier implements SmartInitializingSingleton {
+    private static final List<Toggle> TOGGLES = List.of(
+            new Toggle("replica.datasource.url", null, false, ReplicaDataSourceConfig.class),
+            new Toggle("orders.archive.enabled", "true", true, OrderArchiver.class),
+            new Toggle("orders.processing.enabled", "true", false, OrderProcessingScheduler.class),
+            new Toggle("orders.stream.listener.enabled", "true", true, OrderStatusListener.class),
+            new Toggle("outbox.relay.enabled", "true", true, OutboxRelay.class),
+            new Toggle("outbox.sink", "log", true, LoggingOutboxSink.class),
+            new Toggle("outbox.sink", "webhook", false, WebhookOutboxSink.class),
+            new Toggle("warmup.enabled", "true", true, WarmupRunner.class));
+
+    private final Environment environment;
+    private final ListableBeanFactory beanFactory;
+
+    public ConditionalBeanVerifier(Environment environment, ListableBeanFactory beanFactory) {
+        this.environment = environment;
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Toggle toggle : TOGGLES) {
+            boolean expected = toggle.matches(environment.getProperty(toggle.property()));
+            boolean registered = beanFactory.getBeanNamesForType(toggle.beanType(), true, false).length > 0;
+            if (expected != registered) {
+                throw new IllegalStateException("Property " + toggle.property() + "="
+                        + environment.getProperty(toggle.property()) + " expects " + toggle.beanType().getSimpleName()
+                        + (expected ? " to be registered" : " to be absent")
+                        + ", but this build fixed it otherwise; start without spring.aot.enabled or rebuild the image");
+            }
+        }
+    }
+
+    private record Toggle(String property, String havingValue, boolean matchIfMissing, Class<?> beanType) {
+        boolean matches(String value) {
+            if (value == null) {
+                return matchIfMissing;
+            }
+
+            return havingValue == null ? !"false".equalsIgnoreCase(value) : havingValue.equalsIgnoreCase(value);
+        }
+    }
+}
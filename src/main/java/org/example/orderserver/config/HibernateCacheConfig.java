@@ -0,0 +1,47 @@
+package org.example.orderserver.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.example.orderserver.entity.Item;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${items.cache.max-size:10000}") long itemsMaxSize,
+                                              @Value("${items.cache.ttl:1h}") Duration itemsTtl) {
+        CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = cachingProvider.getCacheManager(
+                URI.create(cachingProvider.getDefaultURI() + "#hibernate-" + UUID.randomUUID()),
+                getClass().getClassLoader());
+
+        CaffeineConfiguration<Object, Object> itemsConfiguration = new CaffeineConfiguration<>();
+        itemsConfiguration.setMaximumSize(OptionalLong.of(itemsMaxSize));
+        itemsConfiguration.setExpireAfterWrite(OptionalLong.of(itemsTtl.toNanos()));
+        itemsConfiguration.setStatisticsEnabled(true);
+        cacheManager.createCache(Item.CACHE_REGION, itemsConfiguration);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+}
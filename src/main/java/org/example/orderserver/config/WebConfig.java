@@ -1,10 +1,25 @@
 package org.example.orderserver.config;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.netty.channel.ChannelOption;
+import org.example.orderserver.dto.OrderField;
+import org.example.orderserver.dto.OrderResponse;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 import java.time.Duration;
@@ -12,16 +27,50 @@ import java.time.Duration;
 @Configuration
 public class WebConfig {
     private static final int TIMEOUT = 5000;
+    private static final String BINARY_ACCEPT = MediaType.APPLICATION_CBOR_VALUE + ", "
+            + MediaType.APPLICATION_JSON_VALUE + ";q=0.9";
 
     @Bean
-    public WebClient webClient(@Value("${USER_SERVICE_URI}") String userServiceUri) {
+    public Jackson2ObjectMapperBuilderCustomizer orderFieldsCustomizer() {
+        return builder -> builder.mixIn(OrderResponse.class, OrderFieldsMixIn.class)
+                .filters(new SimpleFilterProvider()
+                        .addFilter(OrderField.FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @Bean
+    public WebClient webClient(@Value("${USER_SERVICE_URI}") String userServiceUri,
+                               @Value("${user-service.prefer-cbor:true}") boolean preferCbor,
+                               Jackson2ObjectMapperBuilder objectMapperBuilder) {
         HttpClient httpClient = HttpClient.create()
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT)
                 .responseTimeout(Duration.ofMillis(TIMEOUT));
 
-        return WebClient.builder()
+        WebClient.Builder builder = WebClient.builder()
                 .baseUrl(userServiceUri)
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .build();
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        if (preferCbor) {
+            ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+            builder.codecs(codecs -> codecs.customCodecs()
+                            .register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR)))
+                    .defaultHeader(HttpHeaders.ACCEPT, BINARY_ACCEPT);
+        }
+
+        return builder.build();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    @JsonFilter(OrderField.FILTER)
+    interface OrderFieldsMixIn {
     }
 }
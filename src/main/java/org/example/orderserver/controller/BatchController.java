@@ -0,0 +1,29 @@
+package org.example.orderserver.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.orderserver.dto.BatchOperationResponse;
+import org.example.orderserver.dto.BatchRequest;
+import org.example.orderserver.service.BatchService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
+@RequestMapping("/api/v1/batch")
+@RestController
+@RequiredArgsConstructor
+public class BatchController {
+    private final BatchService batchService;
+
+    @PostMapping
+    public ResponseEntity<List<BatchOperationResponse>> executeBatch(@Validated @RequestBody BatchRequest batchRequest,
+                                                                     @RequestHeader(value = HttpHeaders.AUTHORIZATION,
+                                                                             required = false) String tokenHeader) {
+        return ResponseEntity.ok(batchService.execute(batchRequest, tokenHeader));
+    }
+}
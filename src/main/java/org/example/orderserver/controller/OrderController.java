@@ -1,36 +1,61 @@
 package org.example.orderserver.controller;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import lombok.RequiredArgsConstructor;
+import org.example.orderserver.dto.OrderChangePageResponse;
+import org.example.orderserver.dto.OrderField;
+import org.example.orderserver.dto.OrderPageResponse;
 import org.example.orderserver.dto.OrderRequest;
 import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.dto.OrderSearchRequest;
+import org.example.orderserver.dto.OrderStatusTransitionRequest;
+import org.example.orderserver.dto.OrderStatusTransitionResponse;
+import org.example.orderserver.dto.OrderTotalResponse;
 import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.service.IdempotencyService;
 import org.example.orderserver.service.OrderService;
+import org.example.orderserver.service.OrderStatusStreamService;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RequestMapping("/api/v1/orders")
 @RestController
 @RequiredArgsConstructor
 public class OrderController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@Validated(OrderRequest.CreateValidation.class)
                                                          @RequestBody OrderRequest orderRequest,
-                                                     @RequestHeader(HttpHeaders.AUTHORIZATION) String tokenHeader) {
-        return ResponseEntity.ok(orderService.save(orderRequest, tokenHeader));
+                                                     @RequestHeader(HttpHeaders.AUTHORIZATION) String tokenHeader,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false)
+                                                     String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute("orders:" + orderRequest.getUserEmail(), idempotencyKey,
+                orderRequest, OrderResponse.class, () -> orderService.save(orderRequest, tokenHeader)));
     }
 
     @GetMapping("/{id}/{email}")
@@ -39,18 +64,65 @@ public class OrderController {
         return ResponseEntity.ok(orderService.findById(id, email, tokenHeader));
     }
 
+    @GetMapping("/user/{email}")
+    public ResponseEntity<OrderPageResponse> findOrdersByUser(@PathVariable("email") String email,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              @RequestParam(defaultValue = "false")
+                                                              boolean includeArchived,
+                                                              @RequestHeader(HttpHeaders.AUTHORIZATION)
+                                                              String tokenHeader) {
+        return ResponseEntity.ok(orderService.findByUser(email, cursor, size, includeArchived, tokenHeader));
+    }
+
+    @GetMapping(path = "/stream/{email}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatuses(@PathVariable("email") String email,
+                                          @RequestHeader(HttpHeaders.AUTHORIZATION) String tokenHeader) {
+        return orderStatusStreamService.subscribe(email, tokenHeader);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<OrderChangePageResponse> findOrderChanges(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "100") int size,
+                                                                    @RequestHeader(HttpHeaders.AUTHORIZATION)
+                                                                    String tokenHeader) {
+        return ResponseEntity.ok(orderService.findChanges(cursor, size, tokenHeader));
+    }
+
     @PostMapping("/ids")
-    public ResponseEntity<List<OrderResponse>> findOrdersByIds(@RequestBody List<UUID> ids,
+    public ResponseEntity<MappingJacksonValue> findOrdersByIds(@RequestBody List<UUID> ids,
+                                                               @RequestParam(defaultValue = "false")
+                                                               boolean includeArchived,
+                                                               @RequestParam(required = false) String fields,
                                                                @RequestHeader(HttpHeaders.AUTHORIZATION)
                                                                String tokenHeader) {
-        return ResponseEntity.ok(orderService.findByIds(ids, tokenHeader));
+        Set<OrderField> orderFields = OrderField.parse(fields);
+
+        return ResponseEntity.ok(selectFields(orderService.findByIds(ids, includeArchived, orderFields, tokenHeader),
+                fields, orderFields));
+    }
+
+    @PostMapping("/totals")
+    public ResponseEntity<List<OrderTotalResponse>> findOrderTotalsByIds(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(orderService.findTotalsByIds(ids));
     }
 
     @PostMapping("/statuses")
-    public ResponseEntity<List<OrderResponse>> findOrdersByStatuses(@RequestBody List<OrderStatus> statuses,
+    public ResponseEntity<MappingJacksonValue> findOrdersByStatuses(@RequestBody List<OrderStatus> statuses,
+                                                                    @RequestParam(required = false) String fields,
                                                                     @RequestHeader(HttpHeaders.AUTHORIZATION)
                                                                     String tokenHeader) {
-        return ResponseEntity.ok(orderService.findByStatuses(statuses, tokenHeader));
+        Set<OrderField> orderFields = OrderField.parse(fields);
+
+        return ResponseEntity.ok(selectFields(orderService.findByStatuses(statuses, orderFields, tokenHeader),
+                fields, orderFields));
+    }
+
+    @PostMapping("/search")
+    public ResponseEntity<OrderPageResponse> searchOrders(@Validated @RequestBody OrderSearchRequest searchRequest,
+                                                          @RequestHeader(HttpHeaders.AUTHORIZATION)
+                                                          String tokenHeader) {
+        return ResponseEntity.ok(orderService.search(searchRequest, tokenHeader));
     }
 
     @PutMapping("/{id}/{email}")
@@ -61,10 +133,28 @@ public class OrderController {
         return ResponseEntity.ok(orderService.update(id, email, tokenHeader, orderRequest));
     }
 
+    @PatchMapping("/statuses")
+    public ResponseEntity<List<OrderStatusTransitionResponse>> transitionOrderStatuses(
+            @Validated @RequestBody OrderStatusTransitionRequest transitionRequest) {
+        return ResponseEntity.ok(orderService.transitionStatuses(transitionRequest));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<OrderResponse> deleteOrder(@PathVariable("id") UUID id) {
         orderService.delete(id);
 
         return ResponseEntity.noContent().build();
     }
+
+    private MappingJacksonValue selectFields(List<OrderResponse> orderResponses, String fields,
+                                             Set<OrderField> orderFields) {
+        MappingJacksonValue value = new MappingJacksonValue(orderResponses);
+        if (fields != null) {
+            value.setFilters(new SimpleFilterProvider().addFilter(OrderField.FILTER,
+                    SimpleBeanPropertyFilter.filterOutAllExcept(orderFields.stream()
+                            .map(OrderField::getName).collect(Collectors.toSet()))));
+        }
+
+        return value;
+    }
 }
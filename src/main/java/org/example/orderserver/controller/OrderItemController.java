@@ -3,30 +3,48 @@ package org.example.orderserver.controller;
 import lombok.RequiredArgsConstructor;
 import org.example.orderserver.dto.OrderItemRequest;
 import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderLinesRequest;
+import org.example.orderserver.service.IdempotencyService;
 import org.example.orderserver.service.OrderItemService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
 import java.util.UUID;
 
 @RequestMapping("/api/v1/order_items")
 @RestController
 @RequiredArgsConstructor
 public class OrderItemController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final OrderItemService orderItemService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/order/{id}")
     public ResponseEntity<OrderItemResponse> saveOrderItem(@PathVariable("id") UUID orderId,
                                                            @Validated(OrderItemRequest.CreateValidation.class)
-                                                           @RequestBody OrderItemRequest orderItemRequest) {
-        return ResponseEntity.ok(orderItemService.save(orderId, orderItemRequest));
+                                                           @RequestBody OrderItemRequest orderItemRequest,
+                                                           @RequestHeader(value = IDEMPOTENCY_KEY, required = false)
+                                                           String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute("order-items:" + orderId, idempotencyKey,
+                orderItemRequest, OrderItemResponse.class, () -> orderItemService.save(orderId, orderItemRequest)));
+    }
+
+    @PatchMapping("/order/{id}")
+    public ResponseEntity<List<OrderItemResponse>> updateOrderLines(@PathVariable("id") UUID orderId,
+                                                                    @Validated @RequestBody
+                                                                    OrderLinesRequest orderLinesRequest) {
+        return ResponseEntity.ok(orderItemService.updateLines(orderId, orderLinesRequest));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,45 @@
+package org.example.orderserver.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.orderserver.dto.DailyItemSalesResponse;
+import org.example.orderserver.dto.DailyReportResponse;
+import org.example.orderserver.service.DailyRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.time.LocalDate;
+import java.util.List;
+
+@RequestMapping("/api/v1/reports")
+@RestController
+@RequiredArgsConstructor
+public class ReportController {
+    private final DailyRollupService dailyRollupService;
+
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailyReportResponse>> findDailyReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(dailyRollupService.findDailyReport(from, to));
+    }
+
+    @GetMapping("/daily/items")
+    public ResponseEntity<List<DailyItemSalesResponse>> findDailyItemSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(dailyRollupService.findDailyItemSales(from, to));
+    }
+
+    @PostMapping("/daily/rebuild")
+    public ResponseEntity<Void> rebuildDailyReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        dailyRollupService.rebuild(from, to);
+
+        return ResponseEntity.noContent().build();
+    }
+}
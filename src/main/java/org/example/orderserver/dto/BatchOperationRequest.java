@@ -0,0 +1,29 @@
+package org.example.orderserver.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * String values of {@code id}, {@code email} and {@code body} may reference the result of an earlier
+ * successful operation: {@code ${ref}} resolves to its {@code id}, {@code ${ref.path.to.field}} to any field.
+ */
+@Data
+public class BatchOperationRequest {
+    private String ref;
+
+    @NotNull(message = "Operation type cannot be empty")
+    private Type type;
+
+    private String id;
+
+    private String email;
+
+    private JsonNode body;
+
+    public enum Type {
+        CREATE_ORDER, UPDATE_ORDER, TRANSITION_ORDER_STATUSES, DELETE_ORDER,
+        CREATE_ITEM, UPDATE_ITEM, DELETE_ITEM,
+        CREATE_ORDER_ITEM, UPDATE_ORDER_ITEM, DELETE_ORDER_ITEM, UPDATE_ORDER_LINES
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.orderserver.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResponse {
+    private String ref;
+    private Outcome outcome;
+    private Integer status;
+    private JsonNode body;
+
+    public enum Outcome {
+        SUCCEEDED, FAILED, ROLLED_BACK, SKIPPED
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.orderserver.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Operations run in order. With {@code atomic} set they share one transaction and the first failure rolls
+ * back the whole batch; otherwise each operation commits on its own and later operations still run.
+ */
+@Data
+public class BatchRequest {
+    private boolean atomic;
+
+    @NotEmpty(message = "Batch operations cannot be empty")
+    @Size(max = 100, message = "At most 100 operations can be batched at once")
+    @Valid
+    private List<@NotNull BatchOperationRequest> operations;
+}
@@ -0,0 +1,13 @@
+package org.example.orderserver.dto;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+public class DailyItemSalesResponse {
+    private LocalDate day;
+    private UUID itemId;
+    private Long quantity;
+    private Double revenue;
+}
@@ -0,0 +1,23 @@
+package org.example.orderserver.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.orderserver.entity.OrderStatus;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class DailyReportResponse {
+    private LocalDate day;
+    private Map<OrderStatus, Long> orderCounts = new EnumMap<>(OrderStatus.class);
+    private Long quantity = 0L;
+    private Double revenue = 0.0;
+
+    public DailyReportResponse(LocalDate day, Long quantity, Double revenue) {
+        this.day = day;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+}
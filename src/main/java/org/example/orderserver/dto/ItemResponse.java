@@ -1,9 +1,13 @@
 package org.example.orderserver.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ItemResponse {
     private UUID id;
     private String name;
@@ -0,0 +1,10 @@
+package org.example.orderserver.dto;
+
+import java.util.UUID;
+
+public interface OrderChange {
+    UUID getOrderId();
+    Long getChangeXid();
+    Long getChangeSeq();
+    Boolean getDeleted();
+}
@@ -0,0 +1,15 @@
+package org.example.orderserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangePageResponse {
+    private List<OrderChangeResponse> changes;
+    private String nextCursor;
+    private boolean hasMore;
+}
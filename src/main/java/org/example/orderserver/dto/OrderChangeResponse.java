@@ -0,0 +1,15 @@
+package org.example.orderserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangeResponse {
+    private UUID orderId;
+    private boolean deleted;
+    private OrderResponse order;
+}
@@ -0,0 +1,13 @@
+package org.example.orderserver.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface OrderClaim {
+    UUID getOrderId();
+    UUID getUserId();
+    LocalDate getCreationDate();
+    String getStatus();
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,20 @@
+package org.example.orderserver.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderEventPayload {
+    private UUID orderId;
+    private UUID userId;
+    private String status;
+    private String previousStatus;
+    private LocalDate creationDate;
+    private UUID orderItemId;
+    private UUID itemId;
+    private Long quantity;
+    private Float price;
+}
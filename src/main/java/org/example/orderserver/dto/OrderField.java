@@ -0,0 +1,45 @@
+package org.example.orderserver.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.orderserver.exception.InconsistentDataException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderField {
+    ID("id"),
+    STATUS("status"),
+    CREATION_DATE("creationDate"),
+    ORDER_ITEMS("orderItems"),
+    TOTAL("total"),
+    USER_INFO("userInfo");
+
+    public static final String FILTER = "orderFields";
+    public static final Set<OrderField> ALL = Collections.unmodifiableSet(EnumSet.allOf(OrderField.class));
+
+    private final String name;
+
+    public static Set<OrderField> parse(String fields) {
+        if (fields == null) {
+            return ALL;
+        }
+
+        Set<OrderField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.name.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new InconsistentDataException("Unknown field '" + trimmed + "'")));
+        }
+
+        return parsed;
+    }
+}
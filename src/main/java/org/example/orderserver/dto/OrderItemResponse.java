@@ -1,12 +1,18 @@
 package org.example.orderserver.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class OrderItemResponse {
     private UUID id;
     private Long quantity;
+    private Float price;
+    private Double total;
     private UUID orderId;
     private UUID itemId;
 }
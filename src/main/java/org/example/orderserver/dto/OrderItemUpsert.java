@@ -0,0 +1,19 @@
+package org.example.orderserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemUpsert {
+    private UUID id;
+    private Long quantity;
+    private Float price;
+    private Double total;
+    private UUID orderId;
+    private UUID itemId;
+    private Boolean inserted;
+}
@@ -0,0 +1,16 @@
+package org.example.orderserver.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import java.util.UUID;
+
+@Data
+public class OrderLineRequest {
+    @NotNull(message = "Item ID cannot be empty")
+    private UUID itemId;
+
+    @NotNull(message = "Item quantity cannot be empty")
+    @PositiveOrZero(message = "Item quantity cannot be negative")
+    private Long quantity;
+}
@@ -0,0 +1,21 @@
+package org.example.orderserver.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Line changes for one order. A zero quantity removes the item's line; with {@code replace} set,
+ * lines for items not listed are removed as well.
+ */
+@Data
+public class OrderLinesRequest {
+    private boolean replace;
+
+    @NotNull(message = "Order lines cannot be empty")
+    @Size(max = 1000, message = "At most 1000 order lines can be changed at once")
+    @Valid
+    private List<@NotNull OrderLineRequest> lines;
+}
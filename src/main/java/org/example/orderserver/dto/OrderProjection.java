@@ -0,0 +1,14 @@
+package org.example.orderserver.dto;
+
+import lombok.Data;
+import org.example.orderserver.entity.OrderStatus;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+public class OrderProjection {
+    private UUID id;
+    private OrderStatus status;
+    private LocalDate creationDate;
+    private UUID userId;
+}
@@ -12,6 +12,7 @@ public class OrderResponse {
     private String status;
     private LocalDate creationDate;
     private List<OrderItemResponse> orderItems;
+    private Double total;
 
     private UserInfo userInfo;
 }
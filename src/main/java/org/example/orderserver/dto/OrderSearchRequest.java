@@ -0,0 +1,22 @@
+package org.example.orderserver.dto;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.example.orderserver.entity.OrderStatus;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class OrderSearchRequest {
+    private List<OrderStatus> statuses;
+    private LocalDate createdFrom;
+    private LocalDate createdTo;
+    private UUID userId;
+    private UUID itemId;
+    private String cursor;
+    private boolean includeArchived;
+
+    @Positive(message = "Page size must be positive")
+    private Integer size;
+}
@@ -0,0 +1,15 @@
+package org.example.orderserver.dto;
+
+import lombok.Data;
+import org.example.orderserver.entity.OrderStatus;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+public class OrderStatusEvent {
+    private UUID orderId;
+    private UUID userId;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private Instant changedAt;
+}
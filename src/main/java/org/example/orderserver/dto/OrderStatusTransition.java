@@ -0,0 +1,11 @@
+package org.example.orderserver.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface OrderStatusTransition {
+    UUID getOrderId();
+    UUID getUserId();
+    LocalDate getCreationDate();
+    String getPreviousStatus();
+}
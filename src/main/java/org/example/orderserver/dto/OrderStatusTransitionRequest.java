@@ -0,0 +1,19 @@
+package org.example.orderserver.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.example.orderserver.entity.OrderStatus;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class OrderStatusTransitionRequest {
+    @NotEmpty(message = "Order ids cannot be empty")
+    @Size(max = 10000, message = "At most 10000 orders can be transitioned at once")
+    private List<@NotNull UUID> orderIds;
+
+    @NotNull(message = "Order status cannot be empty")
+    private OrderStatus status;
+}
@@ -0,0 +1,21 @@
+package org.example.orderserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.orderserver.entity.OrderStatus;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusTransitionResponse {
+    private UUID orderId;
+    private Outcome outcome;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+
+    public enum Outcome {
+        TRANSITIONED, UNCHANGED, NOT_ALLOWED, NOT_FOUND
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.orderserver.dto;
+
+import java.util.UUID;
+
+public interface OrderStatusView {
+    UUID getOrderId();
+    String getStatus();
+}
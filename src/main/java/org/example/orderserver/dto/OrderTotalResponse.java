@@ -0,0 +1,16 @@
+package org.example.orderserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTotalResponse {
+    private UUID orderId;
+    private Long lineCount;
+    private Long quantity;
+    private Double total;
+}
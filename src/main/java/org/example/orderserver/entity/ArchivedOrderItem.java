@@ -0,0 +1,33 @@
+package org.example.orderserver.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.util.UUID;
+
+@Entity
+@Table(name = "order_items_archive")
+@Data
+public class ArchivedOrderItem {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false)
+    private Float price;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    private ArchivedOrder order;
+
+    @Column(name = "item_id", nullable = false)
+    private UUID itemId;
+}
@@ -0,0 +1,30 @@
+package org.example.orderserver.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "daily_item_sales")
+@IdClass(DailyItemSalesId.class)
+@Data
+public class DailyItemSales {
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Column(name = "item_id")
+    private UUID itemId;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false)
+    private Double revenue;
+}
@@ -0,0 +1,16 @@
+package org.example.orderserver.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyItemSalesId implements Serializable {
+    private LocalDate day;
+    private UUID itemId;
+}
@@ -0,0 +1,28 @@
+package org.example.orderserver.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_order_stats")
+@IdClass(DailyOrderStatsId.class)
+@Data
+public class DailyOrderStats {
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+}
@@ -0,0 +1,15 @@
+package org.example.orderserver.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOrderStatsId implements Serializable {
+    private LocalDate day;
+    private OrderStatus status;
+}
@@ -7,8 +7,10 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.Data;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
@@ -23,11 +25,24 @@ public class OrderItem {
     @Column(nullable = false)
     private Long quantity;
 
+    @Column(nullable = false)
+    private Float price;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Order order;
 
+    @Column(name = "order_creation_date", nullable = false, updatable = false)
+    private LocalDate orderCreationDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
+
+    @PrePersist
+    void assignOrderCreationDate() {
+        if (order != null) {
+            orderCreationDate = order.getCreationDate();
+        }
+    }
 }
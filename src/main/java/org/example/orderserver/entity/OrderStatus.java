@@ -1,6 +1,35 @@
 package org.example.orderserver.entity;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     CREATED, IN_PROGRESS, COMPLETED,
     DELIVERED, TERMINATED, TAKEN_AWAY;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> PREDECESSORS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        PREDECESSORS.put(CREATED, EnumSet.noneOf(OrderStatus.class));
+        PREDECESSORS.put(IN_PROGRESS, EnumSet.of(CREATED));
+        PREDECESSORS.put(COMPLETED, EnumSet.of(CREATED, IN_PROGRESS));
+        PREDECESSORS.put(DELIVERED, EnumSet.of(COMPLETED));
+        PREDECESSORS.put(TERMINATED, EnumSet.of(CREATED, IN_PROGRESS));
+        PREDECESSORS.put(TAKEN_AWAY, EnumSet.of(COMPLETED));
+    }
+
+    public Set<OrderStatus> getAllowedPredecessors() {
+        return Collections.unmodifiableSet(PREDECESSORS.get(this));
+    }
+
+    public boolean isTerminal() {
+        return PREDECESSORS.values().stream().noneMatch(predecessors -> predecessors.contains(this));
+    }
+
+    public boolean canTransitionFrom(OrderStatus previousStatus) {
+        return previousStatus == this || PREDECESSORS.get(this).contains(previousStatus);
+    }
 }
@@ -0,0 +1,6 @@
+package org.example.orderserver.entity;
+
+public enum OutboxEventType {
+    ORDER_CREATED, ORDER_STATUS_CHANGED, ORDER_DELETED,
+    ORDER_ITEM_CREATED, ORDER_ITEM_UPDATED, ORDER_ITEM_DELETED;
+}
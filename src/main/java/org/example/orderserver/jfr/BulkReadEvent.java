@@ -0,0 +1,28 @@
+package org.example.orderserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.orderserver.BulkRead")
+@Label("Bulk Read")
+@Description("Read of an order list by ids or statuses")
+@Category({"OrderServer", "Orders"})
+@StackTrace(false)
+public class BulkReadEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Criteria")
+    public String criteria;
+
+    @Label("Requested Count")
+    public int requestedCount;
+
+    @Label("Result Count")
+    public int resultCount;
+}
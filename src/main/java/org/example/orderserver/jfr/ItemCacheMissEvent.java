@@ -0,0 +1,22 @@
+package org.example.orderserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.orderserver.ItemCacheMiss")
+@Label("Item Cache Miss")
+@Description("Item that had to be loaded from the database")
+@Category({"OrderServer", "Items"})
+@StackTrace(false)
+public class ItemCacheMissEvent extends Event {
+
+    @Label("Item ID")
+    public String itemId;
+
+    @Label("Found")
+    public boolean found;
+}
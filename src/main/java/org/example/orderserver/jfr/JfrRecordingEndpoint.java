@@ -0,0 +1,126 @@
+package org.example.orderserver.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final String settings;
+
+    private Recording recording;
+    private Path lastDump;
+
+    public JfrRecordingEndpoint(@Value("${profiling.jfr.max-duration:10m}") Duration maxDuration,
+                                @Value("${profiling.jfr.max-size:100MB}") DataSize maxSize,
+                                @Value("${profiling.jfr.settings:profile}") String settings) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.settings = settings;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return describe(recording);
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(describe(recording), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        closeRecording();
+
+        Duration duration = durationSeconds == null ? maxDuration : Duration.ofSeconds(durationSeconds);
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            duration = maxDuration;
+        }
+
+        try {
+            Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+            newRecording.setName("order-server-" + Instant.now().toEpochMilli());
+            newRecording.setDuration(duration);
+            newRecording.setMaxSize(maxSize.toBytes());
+            newRecording.setToDisk(true);
+            newRecording.start();
+            recording = newRecording;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR settings '" + settings + "'", e);
+        }
+
+        return new WebEndpointResponse<>(describe(recording), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Resource> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            deleteLastDump();
+            lastDump = Files.createTempFile(recording.getName(), ".jfr");
+            recording.dump(lastDump);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeRecording();
+        }
+
+        return new WebEndpointResponse<>(new FileSystemResource(lastDump), WebEndpointResponse.STATUS_OK);
+    }
+
+    private Map<String, Object> describe(Recording current) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("state", current == null ? "NONE" : current.getState().name());
+        if (current != null) {
+            description.put("name", current.getName());
+            description.put("startTime", current.getStartTime());
+            description.put("duration", current.getDuration());
+            description.put("maxSize", current.getMaxSize());
+        }
+        return description;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void deleteLastDump() throws IOException {
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+            lastDump = null;
+        }
+    }
+}
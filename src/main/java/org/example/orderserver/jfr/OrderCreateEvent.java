@@ -0,0 +1,25 @@
+package org.example.orderserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.orderserver.OrderCreate")
+@Label("Order Create")
+@Description("Creation of an order including item lookups and the user service call")
+@Category({"OrderServer", "Orders"})
+@StackTrace(false)
+public class OrderCreateEvent extends Event {
+
+    @Label("Order ID")
+    public String orderId;
+
+    @Label("User ID")
+    public String userId;
+
+    @Label("Item Count")
+    public int itemCount;
+}
@@ -0,0 +1,25 @@
+package org.example.orderserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.orderserver.UserServiceCall")
+@Label("User Service Call")
+@Description("Blocking call to the user service")
+@Category({"OrderServer", "User Service"})
+@StackTrace(false)
+public class UserServiceCallEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Requested Count")
+    public int requestedCount;
+
+    @Label("Success")
+    public boolean success;
+}
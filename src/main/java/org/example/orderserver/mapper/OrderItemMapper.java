@@ -2,6 +2,7 @@ package org.example.orderserver.mapper;
 
 import org.example.orderserver.dto.OrderItemRequest;
 import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderItemUpsert;
 import org.example.orderserver.entity.OrderItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -16,5 +17,8 @@ public interface OrderItemMapper {
 
     @Mapping(source =  "item.id", target = "itemId")
     @Mapping(source = "order.id", target = "orderId")
+    @Mapping(target = "total", expression = "java(orderItem.getQuantity() * (double) orderItem.getPrice())")
     OrderItemResponse toResponse(OrderItem orderItem);
+
+    OrderItemResponse toResponse(OrderItemUpsert orderItemUpsert);
 }
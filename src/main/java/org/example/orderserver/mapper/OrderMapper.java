@@ -1,5 +1,6 @@
 package org.example.orderserver.mapper;
 
+import org.example.orderserver.dto.OrderProjection;
 import org.example.orderserver.dto.OrderRequest;
 import org.example.orderserver.dto.OrderResponse;
 import org.example.orderserver.entity.Order;
@@ -14,4 +15,5 @@ public interface OrderMapper {
 
     Order toEntity(OrderRequest orderRequest);
     OrderResponse toResponse(Order order);
+    OrderResponse toResponse(OrderProjection projection);
 }
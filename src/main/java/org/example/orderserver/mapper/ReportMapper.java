@@ -0,0 +1,12 @@
+package org.example.orderserver.mapper;
+
+import org.example.orderserver.dto.DailyItemSalesResponse;
+import org.example.orderserver.entity.DailyItemSales;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ReportMapper {
+
+    DailyItemSalesResponse toResponse(DailyItemSales dailyItemSales);
+}
@@ -0,0 +1,19 @@
+package org.example.orderserver.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.entity.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void deliver(List<OutboxEvent> events) {
+        events.forEach(event -> log.info("Outbox event {} {} {}: {}",
+                event.getId(), event.getEventType(), event.getAggregateId(), event.getPayload()));
+    }
+}
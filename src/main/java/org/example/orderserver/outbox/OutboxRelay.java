@@ -0,0 +1,131 @@
+package org.example.orderserver.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.entity.OutboxEvent;
+import org.example.orderserver.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private static final int MAX_BATCHES_PER_RUN = 50;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.relay.retry-backoff:1s}") Duration retryBackoff,
+                       @Value("${outbox.relay.max-retry-backoff:1h}") Duration maxRetryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+
+        deliveredCounter = meterRegistry.counter("outbox.events.delivered");
+        failedCounter = meterRegistry.counter("outbox.events.failed");
+        deadLetteredCounter = meterRegistry.counter("outbox.events.dead_lettered");
+        batchTimer = meterRegistry.timer("outbox.relay.batch");
+        Gauge.builder("outbox.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:1s}")
+    public void relay() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            int delivered;
+            try {
+                delivered = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay batch failed", e);
+                return;
+            }
+
+            if (delivered < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Delivers the due events as one batch and, if the sink rejects it, one by one, so a single bad event only
+     * delays itself. Failed events are retried with exponential backoff and moved to outbox_dead_letters after
+     * {@code maxAttempts}. A retried event can be delivered after later events of the same aggregate.
+     */
+    public int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockBatch(batchSize);
+        if (events.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+
+        lagMillis.set(Duration.between(events.get(0).getCreatedAt(), OffsetDateTime.now()).toMillis());
+        List<OutboxEvent> delivered;
+        try {
+            outboxSink.deliver(events);
+            delivered = events;
+        } catch (RuntimeException e) {
+            log.warn("Outbox batch of {} events failed, delivering them one by one", events.size(), e);
+            delivered = events.stream().filter(this::deliver).toList();
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(delivered.stream().map(OutboxEvent::getId).toList());
+            deliveredCounter.increment(delivered.size());
+        }
+
+        return delivered.size();
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        try {
+            outboxSink.deliver(List.of(event));
+            return true;
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            int attempts = event.getAttempts() + 1;
+            String lastError = e.toString();
+            if (attempts >= maxAttempts) {
+                log.error("Outbox event {} moved to dead letters after {} attempts", event.getId(), attempts, e);
+                outboxEventRepository.deadLetter(event.getId(), attempts, lastError);
+                deadLetteredCounter.increment();
+            } else {
+                Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+                outboxEventRepository.scheduleRetry(event.getId(), attempts,
+                        OffsetDateTime.now().plus(backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff),
+                        lastError);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.orderserver.outbox;
+
+import org.example.orderserver.entity.OutboxEvent;
+import java.util.List;
+
+public interface OutboxSink {
+    void deliver(List<OutboxEvent> events);
+}
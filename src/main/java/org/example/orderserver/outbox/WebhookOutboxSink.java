@@ -0,0 +1,57 @@
+package org.example.orderserver.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.orderserver.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import java.io.UncheckedIOException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "webhook")
+public class WebhookOutboxSink implements OutboxSink {
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public WebhookOutboxSink(WebClient.Builder webClientBuilder, ObjectMapper objectMapper,
+                             @Value("${outbox.webhook.url}") String url,
+                             @Value("${outbox.webhook.timeout:5s}") Duration timeout) {
+        this.webClient = webClientBuilder.baseUrl(url).build();
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) {
+        List<Map<String, Object>> body = events.stream().map(this::toMessage).toList();
+
+        webClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .toBodilessEntity()
+                .block(timeout);
+    }
+
+    private Map<String, Object> toMessage(OutboxEvent event) {
+        try {
+            JsonNode payload = objectMapper.readTree(event.getPayload());
+
+            return Map.of("id", event.getId(),
+                    "type", event.getEventType(),
+                    "aggregateId", event.getAggregateId(),
+                    "createdAt", event.getCreatedAt(),
+                    "payload", payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.orderserver.processing;
+
+import org.example.orderserver.dto.OrderClaim;
+import org.example.orderserver.entity.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+@Component
+public class AutoProgressHandler implements OrderProcessingHandler {
+    private final Duration delay;
+
+    public AutoProgressHandler(@Value("${orders.processing.auto-progress-after:5m}") Duration delay) {
+        this.delay = delay;
+    }
+
+    @Override
+    public OrderStatus getStatus() {
+        return OrderStatus.CREATED;
+    }
+
+    @Override
+    public Duration getDelay() {
+        return delay;
+    }
+
+    @Override
+    public OrderStatus process(OrderClaim order) {
+        return OrderStatus.IN_PROGRESS;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.orderserver.processing;
+
+import org.example.orderserver.dto.OrderClaim;
+import org.example.orderserver.entity.OrderStatus;
+import java.time.Duration;
+
+public interface OrderProcessingHandler {
+    OrderStatus getStatus();
+
+    Duration getDelay();
+
+    OrderStatus process(OrderClaim order);
+}
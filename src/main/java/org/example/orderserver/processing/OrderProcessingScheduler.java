@@ -0,0 +1,217 @@
+package org.example.orderserver.processing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.dto.OrderClaim;
+import org.example.orderserver.dto.OrderStatusTransitionRequest;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.repository.OrderRepository;
+import org.example.orderserver.service.OrderService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.processing.enabled", havingValue = "true")
+public class OrderProcessingScheduler {
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    private static final OffsetDateTime START_UPDATED_AT = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final UUID START_ID = new UUID(0, 0);
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<OrderStatus, List<OrderProcessingHandler>> handlers = new EnumMap<>(OrderStatus.class);
+    private final Map<OrderProcessingHandler, AtomicLong> backlogs = new HashMap<>();
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Timer batchTimer;
+
+    public OrderProcessingScheduler(OrderRepository orderRepository, OrderService orderService,
+                                    TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                    List<OrderProcessingHandler> handlers,
+                                    @Value("${orders.processing.batch-size:100}") int batchSize,
+                                    @Value("${orders.processing.parallelism:4}") int parallelism,
+                                    @Value("${orders.processing.max-attempts:5}") int maxAttempts,
+                                    @Value("${orders.processing.retry-backoff:1m}") Duration retryBackoff,
+                                    @Value("${orders.processing.max-retry-backoff:1h}") Duration maxRetryBackoff) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.executor = Executors.newFixedThreadPool(parallelism);
+        this.batchTimer = meterRegistry.timer("orders.processing.batch");
+
+        for (OrderProcessingHandler handler : handlers) {
+            if (handler.getStatus().isTerminal()) {
+                throw new IllegalStateException("Handler " + handler.getClass().getSimpleName()
+                        + " is registered for terminal status " + handler.getStatus());
+            }
+
+            this.handlers.computeIfAbsent(handler.getStatus(), status -> new ArrayList<>()).add(handler);
+            AtomicLong backlog = new AtomicLong();
+            backlogs.put(handler, backlog);
+            Gauge.builder("orders.processing.backlog", backlog, AtomicLong::get)
+                    .tags(handlerTags(handler))
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.processing.poll-interval:10s}")
+    public void poll() {
+        handlers.values().forEach(statusHandlers -> statusHandlers.forEach(this::drain));
+    }
+
+    /**
+     * Orders a handler skips, rejects or fails on are retried with exponential backoff and left alone after
+     * max-attempts, so they neither hold the head of the keyset nor get retried on every poll.
+     */
+    public void drain(OrderProcessingHandler handler) {
+        OffsetDateTime dueBefore = OffsetDateTime.now().minus(handler.getDelay());
+        backlogs.get(handler).set(orderRepository.countDue(handler.getStatus().name(), dueBefore));
+
+        OrderClaim last = null;
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            OffsetDateTime afterUpdatedAt = last == null
+                    ? START_UPDATED_AT : last.getUpdatedAt().atOffset(ZoneOffset.UTC);
+            UUID afterId = last == null ? START_ID : last.getOrderId();
+
+            List<OrderClaim> claimed = new ArrayList<>();
+            List<OrderClaim> claims;
+            try {
+                claims = batchTimer.record(() -> transactionTemplate.execute(
+                        status -> processBatch(handler, dueBefore, afterUpdatedAt, afterId, claimed)));
+            } catch (RuntimeException e) {
+                log.warn("Order processing batch failed for {}", handler.getClass().getSimpleName(), e);
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> claimed.forEach(claim -> recordAttempt(handler, claim, e.toString())));
+                } catch (RuntimeException recordFailure) {
+                    log.warn("Recording failed attempts for {} failed", handler.getClass().getSimpleName(),
+                            recordFailure);
+                }
+                return;
+            }
+
+            if (claims == null || claims.size() < batchSize) {
+                return;
+            }
+            last = claims.getLast();
+        }
+    }
+
+    private List<OrderClaim> processBatch(OrderProcessingHandler handler, OffsetDateTime dueBefore,
+                                          OffsetDateTime afterUpdatedAt, UUID afterId, List<OrderClaim> claimed) {
+        List<OrderClaim> claims = orderRepository.claimBatch(handler.getStatus().name(),
+                handler.getClass().getSimpleName(), maxAttempts, dueBefore, afterUpdatedAt, afterId, batchSize);
+        if (claims.isEmpty()) {
+            return claims;
+        }
+        claimed.addAll(claims);
+
+        List<Callable<OrderStatus>> tasks = claims.stream()
+                .<Callable<OrderStatus>>map(claim -> () -> handler.process(claim))
+                .toList();
+        List<Future<OrderStatus>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Order processing interrupted", e);
+        }
+
+        Map<OrderStatus, List<UUID>> transitions = new EnumMap<>(OrderStatus.class);
+        for (int i = 0; i < claims.size(); i++) {
+            OrderClaim claim = claims.get(i);
+            OrderStatus target;
+            try {
+                target = results.get(i).get();
+            } catch (ExecutionException e) {
+                log.warn("Handler {} failed for order {}", handler.getClass().getSimpleName(), claim.getOrderId(),
+                        e.getCause());
+                count(handler, "failed");
+                recordAttempt(handler, claim, e.getCause().toString());
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Order processing interrupted", e);
+            }
+
+            if (target == null || target == handler.getStatus()) {
+                count(handler, "skipped");
+                recordAttempt(handler, claim, null);
+            } else if (!target.canTransitionFrom(handler.getStatus())) {
+                log.warn("Handler {} requested {} -> {} for order {}", handler.getClass().getSimpleName(),
+                        handler.getStatus(), target, claim.getOrderId());
+                count(handler, "rejected");
+                recordAttempt(handler, claim, "Transition " + handler.getStatus() + " -> " + target + " not allowed");
+            } else {
+                transitions.computeIfAbsent(target, status -> new ArrayList<>()).add(claim.getOrderId());
+            }
+        }
+
+        transitions.forEach((target, orderIds) -> {
+            OrderStatusTransitionRequest request = new OrderStatusTransitionRequest();
+            request.setOrderIds(orderIds);
+            request.setStatus(target);
+            orderService.transitionStatuses(request);
+            meterRegistry.counter("orders.processing.orders", handlerTags(handler).and("outcome", "transitioned"))
+                    .increment(orderIds.size());
+        });
+
+        return claims;
+    }
+
+    private void recordAttempt(OrderProcessingHandler handler, OrderClaim claim, String error) {
+        int attempts = orderRepository.recordProcessingAttempt(claim.getOrderId(), claim.getCreationDate(),
+                handler.getClass().getSimpleName(), retryBackoff.toMillis(), maxRetryBackoff.toMillis(), error);
+        if (attempts >= maxAttempts) {
+            log.error("Handler {} gave up on order {} after {} attempts", handler.getClass().getSimpleName(),
+                    claim.getOrderId(), attempts);
+            count(handler, "exhausted");
+        }
+    }
+
+    private void count(OrderProcessingHandler handler, String outcome) {
+        meterRegistry.counter("orders.processing.orders", handlerTags(handler).and("outcome", outcome)).increment();
+    }
+
+    private Tags handlerTags(OrderProcessingHandler handler) {
+        return Tags.of("handler", handler.getClass().getSimpleName(), "status", handler.getStatus().name());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.orderserver.processing;
+
+import org.example.orderserver.dto.OrderClaim;
+import org.example.orderserver.entity.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+@Component
+public class StaleOrderExpiryHandler implements OrderProcessingHandler {
+    private final Duration delay;
+
+    public StaleOrderExpiryHandler(@Value("${orders.processing.expire-after:7d}") Duration delay) {
+        this.delay = delay;
+    }
+
+    @Override
+    public OrderStatus getStatus() {
+        return OrderStatus.IN_PROGRESS;
+    }
+
+    @Override
+    public Duration getDelay() {
+        return delay;
+    }
+
+    @Override
+    public OrderStatus process(OrderClaim order) {
+        return OrderStatus.TERMINATED;
+    }
+}
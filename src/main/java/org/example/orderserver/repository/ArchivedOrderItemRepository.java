@@ -0,0 +1,37 @@
+package org.example.orderserver.repository;
+
+import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderTotalResponse;
+import org.example.orderserver.entity.ArchivedOrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedOrderItemRepository extends JpaRepository<ArchivedOrderItem, UUID> {
+
+    @Query(value = """
+            select id, quantity, cast(price as real) as price, quantity * price as total, order_id as orderId,
+                item_id as itemId
+            from order_items_archive
+            where order_id = any(:orderIds)""", nativeQuery = true)
+    List<OrderItemResponse> findResponsesByOrderIds(UUID[] orderIds);
+
+    @Query(value = """
+            select order_id as orderId, count(id) as lineCount, cast(sum(quantity) as bigint) as quantity,
+                sum(quantity * price) as total
+            from order_items_archive
+            where order_id = any(:orderIds)
+            group by order_id""", nativeQuery = true)
+    List<OrderTotalResponse> findTotalsByOrderIds(UUID[] orderIds);
+
+    @Query("""
+            select new org.example.orderserver.dto.OrderItemResponse(
+                oi.id, oi.quantity, oi.price, oi.quantity * cast(oi.price as Double), oi.order.id, oi.itemId)
+            from ArchivedOrderItem oi
+            where oi.id = :id""")
+    Optional<OrderItemResponse> findResponseById(UUID id);
+}
@@ -0,0 +1,49 @@
+package org.example.orderserver.repository;
+
+import org.example.orderserver.entity.ArchivedOrder;
+import org.example.orderserver.entity.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, UUID> {
+
+    @Query("select o from ArchivedOrder o where o.status in :statuses")
+    List<ArchivedOrder> findByStatuses(List<OrderStatus> statuses);
+
+    @Query("select distinct o from ArchivedOrder o left join fetch o.orderItems where o.id in :ids")
+    List<ArchivedOrder> findWithItemsByIds(List<UUID> ids);
+
+    @Query(value = """
+            with target as (
+                select id, creation_date from orders
+                where status = any(cast(:statuses as varchar[])) and updated_at < :before
+                order by updated_at, id
+                limit :limit
+                for update skip locked
+            ), moved_items as (
+                delete from order_items oi
+                using target t
+                where oi.order_id = t.id and oi.order_creation_date = t.creation_date
+                returning oi.id, oi.order_id, oi.item_id, oi.quantity, oi.price
+            ), moved_orders as (
+                delete from orders o
+                using target t
+                where o.id = t.id and o.creation_date = t.creation_date
+                returning o.id, o.user_id, o.status, o.creation_date
+            ), archived_orders as (
+                insert into orders_archive (id, user_id, status, creation_date, archived_at)
+                select id, user_id, status, creation_date, now() from moved_orders
+                returning id
+            ), archived_items as (
+                insert into order_items_archive (id, order_id, item_id, quantity, price)
+                select id, order_id, item_id, quantity, price from moved_items
+                returning id
+            )
+            select count(*) from archived_orders""", nativeQuery = true)
+    int archiveBatch(String[] statuses, OffsetDateTime before, int limit);
+}
@@ -0,0 +1,100 @@
+package org.example.orderserver.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.orderserver.dto.DailyReportResponse;
+import org.example.orderserver.entity.DailyItemSales;
+import org.example.orderserver.entity.DailyItemSalesId;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DailyItemSalesRepository extends JpaRepository<DailyItemSales, DailyItemSalesId> {
+
+    List<DailyItemSales> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+
+    @Query("""
+            select new org.example.orderserver.dto.DailyReportResponse(s.day, sum(s.quantity), sum(s.revenue))
+            from DailyItemSales s
+            where s.day between :from and :to
+            group by s.day""")
+    List<DailyReportResponse> sumByDayBetween(LocalDate from, LocalDate to);
+
+    @Query(value = """
+            select item_id from daily_item_sales
+            where day >= :from
+            group by item_id
+            order by sum(quantity) desc
+            limit :limit""", nativeQuery = true)
+    List<UUID> findTopItemIds(LocalDate from, int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_item_sales"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            insert into daily_item_sales (day, item_id, quantity, revenue)
+            select oi.order_creation_date, oi.item_id, :sign * sum(oi.quantity), :sign * sum(oi.quantity * oi.price)
+            from order_items oi
+            where oi.order_id = :orderId
+            group by oi.order_creation_date, oi.item_id
+            on conflict (day, item_id) do update
+            set quantity = daily_item_sales.quantity + excluded.quantity,
+                revenue = daily_item_sales.revenue + excluded.revenue""", nativeQuery = true)
+    void addOrderSales(UUID orderId, int sign);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_item_sales"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            insert into daily_item_sales (day, item_id, quantity, revenue)
+            select oi.order_creation_date, oi.item_id, :sign * oi.quantity, :sign * oi.quantity * oi.price
+            from order_items oi
+            where oi.id = :orderItemId
+            on conflict (day, item_id) do update
+            set quantity = daily_item_sales.quantity + excluded.quantity,
+                revenue = daily_item_sales.revenue + excluded.revenue""", nativeQuery = true)
+    void addLineSales(UUID orderItemId, int sign);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_item_sales"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            insert into daily_item_sales (day, item_id, quantity, revenue)
+            select oi.order_creation_date, oi.item_id, :quantity, :quantity * oi.price
+            from order_items oi
+            where oi.id = :orderItemId
+            on conflict (day, item_id) do update
+            set quantity = daily_item_sales.quantity + excluded.quantity,
+                revenue = daily_item_sales.revenue + excluded.revenue""", nativeQuery = true)
+    void addLineQuantity(UUID orderItemId, long quantity);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_item_sales"))
+    @Modifying
+    @Query(value = "delete from daily_item_sales where item_id = :itemId", nativeQuery = true)
+    void deleteByItemId(UUID itemId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_item_sales"))
+    @Modifying
+    @Query(value = "delete from daily_item_sales where day between :from and :to", nativeQuery = true)
+    void deleteByDayBetween(LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_item_sales"))
+    @Modifying
+    @Query(value = """
+            insert into daily_item_sales (day, item_id, quantity, revenue)
+            select day, item_id, sum(quantity), sum(quantity * price)
+            from (
+                select order_creation_date as day, item_id, quantity, price from order_items
+                where order_creation_date between :from and :to
+                union all
+                select o.creation_date, oi.item_id, oi.quantity, oi.price
+                from order_items_archive oi
+                join orders_archive o on o.id = oi.order_id
+                where o.creation_date between :from and :to
+            ) oi
+            group by day, item_id""", nativeQuery = true)
+    void rebuild(LocalDate from, LocalDate to);
+}
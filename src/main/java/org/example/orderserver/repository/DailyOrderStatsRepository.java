@@ -0,0 +1,66 @@
+package org.example.orderserver.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.orderserver.entity.DailyOrderStats;
+import org.example.orderserver.entity.DailyOrderStatsId;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DailyOrderStatsRepository extends JpaRepository<DailyOrderStats, DailyOrderStatsId> {
+
+    List<DailyOrderStats> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_order_stats"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            insert into daily_order_stats (day, status, order_count)
+            select creation_date, status, :delta from orders where id = :orderId
+            on conflict (day, status) do update
+            set order_count = daily_order_stats.order_count + excluded.order_count""", nativeQuery = true)
+    void addOrder(UUID orderId, long delta);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_order_stats"))
+    @Modifying
+    @Query(value = """
+            insert into daily_order_stats (day, status, order_count)
+            values (:day, :status, :delta)
+            on conflict (day, status) do update
+            set order_count = daily_order_stats.order_count + excluded.order_count""", nativeQuery = true)
+    void addOrders(LocalDate day, String status, long delta);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_order_stats"))
+    @Modifying
+    @Query(value = "delete from daily_order_stats where day between :from and :to", nativeQuery = true)
+    void deleteByDayBetween(LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_order_stats"))
+    @Modifying
+    @Query(value = """
+            insert into daily_order_stats (day, status, order_count)
+            select creation_date, status, count(*)
+            from (
+                select creation_date, status from orders
+                where creation_date between :from and :to
+                union all
+                select creation_date, status from orders_archive
+                where creation_date between :from and :to
+            ) o
+            group by creation_date, status""", nativeQuery = true)
+    void rebuild(LocalDate from, LocalDate to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_order_stats"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_item_sales")
+    })
+    @Modifying
+    @Query(value = "lock table daily_order_stats, daily_item_sales in exclusive mode", nativeQuery = true)
+    void lockRollupTables();
+}
@@ -0,0 +1,20 @@
+package org.example.orderserver.repository;
+
+import org.example.orderserver.entity.IdempotencyKey;
+import org.example.orderserver.entity.IdempotencyKeyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.OffsetDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKeyId> {
+
+    @Query(value = "select cast(pg_advisory_xact_lock(hashtextextended(:lockKey, 0)) as text)", nativeQuery = true)
+    String lock(String lockKey);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :expiredBefore")
+    int deleteExpired(OffsetDateTime expiredBefore);
+}
@@ -1,10 +1,27 @@
 package org.example.orderserver.repository;
 
+import org.example.orderserver.dto.ItemResponse;
 import org.example.orderserver.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, UUID> {
+
+    @Query(value = """
+            update items
+            set name = coalesce(cast(:name as varchar), name), price = coalesce(cast(:price as real), price)
+            where id = :id
+            returning id, name, cast(price as real) as price""", nativeQuery = true)
+    Optional<ItemResponse> updateReturning(UUID id, String name, Float price);
+
+    @Query(value = "delete from items where id = :id returning id", nativeQuery = true)
+    Optional<UUID> deleteReturningId(UUID id);
+
+    @Query(value = "select id from items where id = any(:ids)", nativeQuery = true)
+    List<UUID> findExistingIds(UUID[] ids);
 }
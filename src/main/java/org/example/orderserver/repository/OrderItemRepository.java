@@ -1,12 +1,97 @@
 package org.example.orderserver.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderItemUpsert;
 import org.example.orderserver.entity.OrderItem;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
-    List<OrderItem> findByItemId(UUID itemId);
+    /**
+     * Resolves the order's creation date by id, which probes every orders partition; the line insert itself then
+     * targets a single order_items partition.
+     */
+    @Query(value = """
+            insert into order_items (id, order_id, order_creation_date, item_id, quantity, price)
+            select :id, o.id, o.creation_date, :itemId, :quantity, :price
+            from orders o
+            where o.id = :orderId
+            on conflict (order_id, order_creation_date, item_id) do update
+            set quantity = order_items.quantity + excluded.quantity
+            returning id, quantity, cast(price as real) as price, quantity * price as total, order_id as orderId,
+                item_id as itemId, id = :id as inserted""", nativeQuery = true)
+    Optional<OrderItemUpsert> upsert(UUID id, UUID orderId, UUID itemId, Long quantity, Float price);
+
+    @Query(value = """
+            insert into order_items (id, order_id, order_creation_date, item_id, quantity, price)
+            select gen_random_uuid(), :orderId, :creationDate, l.item_id, l.quantity, i.price
+            from unnest(cast(:itemIds as uuid[]), cast(:quantities as bigint[])) as l(item_id, quantity)
+            join items i on i.id = l.item_id
+            on conflict (order_id, order_creation_date, item_id) do update
+            set quantity = excluded.quantity
+            returning id, quantity, cast(price as real) as price, quantity * price as total, order_id as orderId,
+                item_id as itemId""", nativeQuery = true)
+    List<OrderItemResponse> upsertAll(UUID orderId, LocalDate creationDate, UUID[] itemIds, Long[] quantities);
+
+    @Query(value = """
+            delete from order_items
+            where item_id = :itemId
+            returning id, quantity, cast(price as real) as price, quantity * price as total, order_id as orderId,
+                item_id as itemId""", nativeQuery = true)
+    List<OrderItemResponse> deleteByItemIdReturning(UUID itemId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_items"))
+    @Modifying
+    @Query(value = """
+            delete from order_items
+            where order_id = :orderId and order_creation_date = :creationDate and item_id = any(:itemIds)""",
+            nativeQuery = true)
+    int deleteByOrderIdAndItemIds(UUID orderId, LocalDate creationDate, UUID[] itemIds);
+
+    @Query(value = """
+            update order_items
+            set quantity = coalesce(cast(:quantity as bigint), quantity)
+            where id = :id
+            returning id, quantity, cast(price as real) as price, quantity * price as total, order_id as orderId,
+                item_id as itemId""", nativeQuery = true)
+    Optional<OrderItemResponse> updateReturning(UUID id, Long quantity);
+
+    @Query(value = "delete from order_items where id = :id returning order_id", nativeQuery = true)
+    Optional<UUID> deleteReturningOrderId(UUID id);
+
+    @Query(value = """
+            select id, quantity, cast(price as real) as price, quantity * price as total, order_id as orderId,
+                item_id as itemId
+            from order_items
+            where order_id = any(:orderIds)""", nativeQuery = true)
+    List<OrderItemResponse> findResponsesByOrderIds(UUID[] orderIds);
+
+    @Query(value = """
+            select id, quantity, cast(price as real) as price, quantity * price as total, order_id as orderId,
+                item_id as itemId
+            from order_items
+            where order_id = :orderId and order_creation_date = :creationDate""", nativeQuery = true)
+    List<OrderItemResponse> findResponsesByOrderId(UUID orderId, LocalDate creationDate);
+
+    @Query(value = """
+            select coalesce(sum(quantity * price), 0) from order_items
+            where order_id = :orderId and order_creation_date = :creationDate""", nativeQuery = true)
+    Double findTotalByOrderId(UUID orderId, LocalDate creationDate);
+
+    @Query("""
+            select new org.example.orderserver.dto.OrderItemResponse(
+                oi.id, oi.quantity, oi.price, oi.quantity * cast(oi.price as Double), oi.order.id, oi.item.id)
+            from OrderItem oi
+            where oi.id = :id""")
+    Optional<OrderItemResponse> findResponseById(UUID id);
 }
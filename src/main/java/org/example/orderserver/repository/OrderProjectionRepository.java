@@ -0,0 +1,18 @@
+package org.example.orderserver.repository;
+
+import org.example.orderserver.dto.OrderField;
+import org.example.orderserver.dto.OrderProjection;
+import org.example.orderserver.entity.OrderStatus;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface OrderProjectionRepository {
+    /**
+     * Orders are partitioned by creation month and callers only know ids, so this probes the primary key index
+     * of every partition: one index lookup per id per month kept, not one per id.
+     */
+    List<OrderProjection> findProjectionsByIds(List<UUID> ids, Set<OrderField> fields, boolean archived);
+
+    List<OrderProjection> findProjectionsByStatuses(List<OrderStatus> statuses, Set<OrderField> fields);
+}
@@ -0,0 +1,83 @@
+package org.example.orderserver.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.example.orderserver.dto.OrderField;
+import org.example.orderserver.dto.OrderProjection;
+import org.example.orderserver.entity.OrderStatus;
+import org.hibernate.query.NativeQuery;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class OrderProjectionRepositoryImpl implements OrderProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderProjection> findProjectionsByIds(List<UUID> ids, Set<OrderField> fields, boolean archived) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return findProjections("id = any(:values)", ids.toArray(UUID[]::new), fields, archived);
+    }
+
+    @Override
+    public List<OrderProjection> findProjectionsByStatuses(List<OrderStatus> statuses, Set<OrderField> fields) {
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+
+        return findProjections("status = any(cast(:values as varchar[]))",
+                statuses.stream().map(Enum::name).toArray(String[]::new), fields, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OrderProjection> findProjections(String condition, Object[] values, Set<OrderField> fields,
+                                                  boolean archived) {
+        StringBuilder sql = new StringBuilder("select id");
+        if (fields.contains(OrderField.STATUS)) {
+            sql.append(", status");
+        }
+        if (fields.contains(OrderField.CREATION_DATE)) {
+            sql.append(", creation_date");
+        }
+        if (fields.contains(OrderField.USER_INFO)) {
+            sql.append(", user_id");
+        }
+        sql.append(" from ").append(archived ? "orders_archive" : "orders").append(" where ").append(condition);
+
+        NativeQuery<Tuple> query = entityManager.createNativeQuery(sql.toString(), Tuple.class)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class);
+        if (fields.contains(OrderField.STATUS)) {
+            query.addScalar("status", String.class);
+        }
+        if (fields.contains(OrderField.CREATION_DATE)) {
+            query.addScalar("creation_date", LocalDate.class);
+        }
+        if (fields.contains(OrderField.USER_INFO)) {
+            query.addScalar("user_id", UUID.class);
+        }
+        query.setParameter("values", values);
+
+        return query.getResultList().stream().map(tuple -> {
+            OrderProjection projection = new OrderProjection();
+            projection.setId(tuple.get("id", UUID.class));
+            if (fields.contains(OrderField.STATUS)) {
+                projection.setStatus(OrderStatus.valueOf(tuple.get("status", String.class)));
+            }
+            if (fields.contains(OrderField.CREATION_DATE)) {
+                projection.setCreationDate(tuple.get("creation_date", LocalDate.class));
+            }
+            if (fields.contains(OrderField.USER_INFO)) {
+                projection.setUserId(tuple.get("user_id", UUID.class));
+            }
+            return projection;
+        }).toList();
+    }
+}
@@ -1,19 +1,189 @@
 package org.example.orderserver.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.orderserver.dto.OrderChange;
+import org.example.orderserver.dto.OrderClaim;
+import org.example.orderserver.dto.OrderStatusTransition;
+import org.example.orderserver.dto.OrderStatusView;
+import org.example.orderserver.dto.OrderTotalResponse;
 import org.example.orderserver.entity.Order;
-import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.stream.OrderStatusListener;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, OrderSearchRepository,
+        OrderProjectionRepository {
 
-    @Query("select o from Order o where o.status in :statuses")
-    List<Order> findByStatuses(List<OrderStatus> statuses);
+    @Query(value = """
+            select o.id as orderId, count(oi.id) as lineCount,
+                cast(coalesce(sum(oi.quantity), 0) as bigint) as quantity,
+                coalesce(sum(oi.quantity * oi.price), 0) as total
+            from orders o
+            left join order_items oi on oi.order_id = o.id and oi.order_creation_date = o.creation_date
+            where o.id = any(:ids)
+            group by o.id""", nativeQuery = true)
+    List<OrderTotalResponse> findTotalsByIds(UUID[] ids);
 
-    @Query("select o from Order o where o.id in :ids")
-    List<Order> findByIds(List<UUID> ids);
-}
\ No newline at end of file
+    @Query(value = """
+            select id from orders
+            where user_id = :userId
+            order by creation_date desc, id desc
+            limit :limit""", nativeQuery = true)
+    List<UUID> findIdsByUserId(UUID userId, int limit);
+
+    @Query(value = """
+            select id from orders
+            where user_id = :userId and creation_date <= :creationDate and (creation_date, id) < (:creationDate, :id)
+            order by creation_date desc, id desc
+            limit :limit""", nativeQuery = true)
+    List<UUID> findIdsByUserIdAfter(UUID userId, LocalDate creationDate, UUID id, int limit);
+
+    @Query(value = """
+            select id from (
+                (select id, creation_date from orders
+                 where user_id = :userId
+                 order by creation_date desc, id desc
+                 limit :limit)
+                union all
+                (select id, creation_date from orders_archive
+                 where user_id = :userId
+                 order by creation_date desc, id desc
+                 limit :limit)
+            ) o
+            order by creation_date desc, id desc
+            limit :limit""", nativeQuery = true)
+    List<UUID> findIdsByUserIdIncludingArchived(UUID userId, int limit);
+
+    @Query(value = """
+            select id from (
+                (select id, creation_date from orders
+                 where user_id = :userId and creation_date <= :creationDate
+                     and (creation_date, id) < (:creationDate, :id)
+                 order by creation_date desc, id desc
+                 limit :limit)
+                union all
+                (select id, creation_date from orders_archive
+                 where user_id = :userId and (creation_date, id) < (:creationDate, :id)
+                 order by creation_date desc, id desc
+                 limit :limit)
+            ) o
+            order by creation_date desc, id desc
+            limit :limit""", nativeQuery = true)
+    List<UUID> findIdsByUserIdIncludingArchivedAfter(UUID userId, LocalDate creationDate, UUID id, int limit);
+
+    @Query(value = """
+            select c.order_id as orderId, cast(cast(c.change_xid as text) as bigint) as changeXid,
+                c.change_seq as changeSeq, c.deleted as deleted
+            from (
+                select id as order_id, change_xid, change_seq, false as deleted
+                from orders
+                where (change_xid, change_seq) > (cast(cast(:afterXid as text) as xid8), :afterSeq)
+                  and change_xid < pg_snapshot_xmin(pg_current_snapshot())
+                union all
+                select order_id, change_xid, change_seq, true
+                from order_tombstones
+                where (change_xid, change_seq) > (cast(cast(:afterXid as text) as xid8), :afterSeq)
+                  and change_xid < pg_snapshot_xmin(pg_current_snapshot())
+            ) c
+            order by c.change_xid, c.change_seq
+            limit :limit""", nativeQuery = true)
+    List<OrderChange> findChangesAfter(long afterXid, long afterSeq, int limit);
+
+    @Query(value = "select cast(pg_notify('" + OrderStatusListener.CHANNEL + "', :payload) as text)",
+            nativeQuery = true)
+    String notifyStatusChanged(String payload);
+
+    @Query(value = "select cast(pg_notify('" + OrderStatusListener.CHANNEL + "', payload) as text)"
+            + " from unnest(cast(:payloads as text[])) payload", nativeQuery = true)
+    List<String> notifyStatusesChanged(String[] payloads);
+
+    @Query(value = """
+            with target as (
+                select id, status from orders
+                where id = any(:ids) and status = any(cast(:predecessors as varchar[]))
+                for update
+            )
+            update orders o
+            set status = :status
+            from target t
+            where o.id = t.id
+            returning o.id as orderId, o.user_id as userId, o.creation_date as creationDate,
+                t.status as previousStatus""", nativeQuery = true)
+    List<OrderStatusTransition> transitionStatuses(UUID[] ids, String[] predecessors, String status);
+
+    @Query(value = "select id as orderId, status from orders where id = any(:ids)", nativeQuery = true)
+    List<OrderStatusView> findStatusesByIds(UUID[] ids);
+
+    /**
+     * Skips orders the handler has already attempted until their retry is due, and for good once it has attempted
+     * them maxAttempts times.
+     */
+    @Query(value = """
+            select o.id as orderId, o.user_id as userId, o.creation_date as creationDate, o.status,
+                o.updated_at as updatedAt
+            from orders o
+            where o.status = :status and o.updated_at < :dueBefore
+              and (o.updated_at, o.id) > (:afterUpdatedAt, :afterId)
+              and not exists (
+                  select 1 from order_processing_attempts a
+                  where a.order_id = o.id and a.order_creation_date = o.creation_date and a.handler = :handler
+                    and (a.attempts >= :maxAttempts or a.next_attempt_at > now()))
+            order by o.updated_at, o.id
+            limit :limit
+            for update of o skip locked""", nativeQuery = true)
+    List<OrderClaim> claimBatch(String status, String handler, int maxAttempts, OffsetDateTime dueBefore,
+                                OffsetDateTime afterUpdatedAt, UUID afterId, int limit);
+
+    /**
+     * Counts one more attempt of the handler on the order and schedules the next one after backoffMillis doubled per
+     * earlier attempt, capped at maxBackoffMillis. Returns the attempts made so far.
+     */
+    @Query(value = """
+            insert into order_processing_attempts (order_id, order_creation_date, handler, attempts, next_attempt_at,
+                last_error)
+            values (:orderId, :creationDate, :handler, 1,
+                now() + least(:backoffMillis, :maxBackoffMillis) * interval '1 millisecond', :lastError)
+            on conflict (order_id, order_creation_date, handler) do update
+            set attempts = order_processing_attempts.attempts + 1,
+                next_attempt_at = now() + least(:backoffMillis * power(2, order_processing_attempts.attempts),
+                    :maxBackoffMillis) * interval '1 millisecond',
+                last_error = excluded.last_error
+            returning attempts""", nativeQuery = true)
+    int recordProcessingAttempt(UUID orderId, LocalDate creationDate, String handler, long backoffMillis,
+                                long maxBackoffMillis, String lastError);
+
+    @Query(value = "select count(*) from orders where status = :status and updated_at < :dueBefore", nativeQuery = true)
+    long countDue(String status, OffsetDateTime dueBefore);
+
+    /**
+     * Scans the primary key index of every orders partition for the id; the cascade then deletes the lines from a
+     * single order_items partition.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_items")
+    })
+    @Modifying
+    @Query(value = "delete from orders where id = :id", nativeQuery = true)
+    int deleteOrderById(UUID id);
+
+    /**
+     * Looks the id up in every orders partition and returns the creation date, so statements that follow in the
+     * same transaction can filter on the partition key and touch one partition.
+     */
+    @Query(value = "select creation_date from orders where id = :id for update", nativeQuery = true)
+    Optional<LocalDate> lockById(UUID id);
+
+    @Query(value = "select create_order_partitions(:from, :to)", nativeQuery = true)
+    int createPartitions(LocalDate from, LocalDate to);
+}
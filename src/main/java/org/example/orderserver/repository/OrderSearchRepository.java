@@ -0,0 +1,10 @@
+package org.example.orderserver.repository;
+
+import org.example.orderserver.dto.OrderSearchRequest;
+import org.example.orderserver.util.OrderCursor;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderSearchRepository {
+    List<UUID> searchIds(OrderSearchRequest filter, OrderCursor cursor, int limit);
+}
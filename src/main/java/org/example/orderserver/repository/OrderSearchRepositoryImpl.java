@@ -0,0 +1,129 @@
+package org.example.orderserver.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.example.orderserver.dto.OrderSearchRequest;
+import org.example.orderserver.entity.ArchivedOrder;
+import org.example.orderserver.entity.ArchivedOrderItem;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderItem;
+import org.example.orderserver.util.OrderCursor;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+    private static final String ID = "id";
+    private static final String CREATION_DATE = "creationDate";
+
+    /**
+     * Matches PostgreSQL's uuid ordering, which compares bytes unsigned, so merged pages stay consistent with the
+     * cursor predicate evaluated by the database.
+     */
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+    private static final Comparator<Tuple> KEY_ORDER = Comparator
+            .comparing((Tuple key) -> key.get(CREATION_DATE, LocalDate.class))
+            .thenComparing(key -> key.get(ID, UUID.class), UUID_ORDER)
+            .reversed();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * With {@code includeArchived} both the hot and the archive table are read with the same keyset predicate and
+     * limit, and the two pages are merged, so a page never reads more than {@code limit} rows from either table.
+     */
+    @Override
+    public List<UUID> searchIds(OrderSearchRequest filter, OrderCursor cursor, int limit) {
+        List<Tuple> keys = searchKeys(Order.class, filter, cursor, limit, this::orderItemExists);
+        if (filter.isIncludeArchived()) {
+            keys = Stream.concat(keys.stream(),
+                            searchKeys(ArchivedOrder.class, filter, cursor, limit, this::archivedOrderItemExists)
+                                    .stream())
+                    .sorted(KEY_ORDER)
+                    .limit(limit)
+                    .toList();
+        }
+
+        return keys.stream().map(key -> key.get(ID, UUID.class)).toList();
+    }
+
+    private <T> List<Tuple> searchKeys(Class<T> entity, OrderSearchRequest filter, OrderCursor cursor, int limit,
+                                       ItemPredicate<T> itemPredicate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> order = query.from(entity);
+        Path<UUID> id = order.get(ID);
+        Path<LocalDate> creationDate = order.get(CREATION_DATE);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatuses() != null && !filter.getStatuses().isEmpty()) {
+            predicates.add(order.get("status").in(filter.getStatuses()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(creationDate, filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(creationDate, filter.getCreatedTo()));
+        }
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(order.get("userId"), filter.getUserId()));
+        }
+        if (filter.getItemId() != null) {
+            predicates.add(itemPredicate.exists(cb, query, order, filter.getItemId()));
+        }
+        if (cursor != null) {
+            predicates.add(cb.lessThanOrEqualTo(creationDate, cursor.creationDate()));
+            predicates.add(cb.or(
+                    cb.lessThan(creationDate, cursor.creationDate()),
+                    cb.lessThan(id, cursor.id())));
+        }
+
+        query.multiselect(id.alias(ID), creationDate.alias(CREATION_DATE))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(creationDate), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private Predicate orderItemExists(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Order> order, UUID itemId) {
+        Subquery<Integer> orderItems = query.subquery(Integer.class);
+        Root<OrderItem> orderItem = orderItems.from(OrderItem.class);
+        orderItems.select(cb.literal(1)).where(
+                cb.equal(orderItem.get("order"), order),
+                cb.equal(orderItem.get("orderCreationDate"), order.get(CREATION_DATE)),
+                cb.equal(orderItem.get("item").get(ID), itemId));
+
+        return cb.exists(orderItems);
+    }
+
+    private Predicate archivedOrderItemExists(CriteriaBuilder cb, CriteriaQuery<?> query, Root<ArchivedOrder> order,
+                                              UUID itemId) {
+        Subquery<Integer> orderItems = query.subquery(Integer.class);
+        Root<ArchivedOrderItem> orderItem = orderItems.from(ArchivedOrderItem.class);
+        orderItems.select(cb.literal(1)).where(
+                cb.equal(orderItem.get("order"), order),
+                cb.equal(orderItem.get("itemId"), itemId));
+
+        return cb.exists(orderItems);
+    }
+
+    @FunctionalInterface
+    private interface ItemPredicate<T> {
+        Predicate exists(CriteriaBuilder cb, CriteriaQuery<?> query, Root<T> order, UUID itemId);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.orderserver.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.orderserver.entity.OutboxEvent;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query(value = """
+            select * from outbox_events
+            where next_attempt_at <= now()
+            order by id
+            limit :limit
+            for update skip locked""", nativeQuery = true)
+    List<OutboxEvent> lockBatch(int limit);
+
+    @Modifying
+    @Query(value = """
+            update outbox_events
+            set attempts = :attempts, next_attempt_at = :nextAttemptAt, last_error = :lastError
+            where id = :id""", nativeQuery = true)
+    int scheduleRetry(Long id, int attempts, OffsetDateTime nextAttemptAt, String lastError);
+
+    @Modifying
+    @Query(value = """
+            with dead as (
+                delete from outbox_events where id = :id
+                returning id, event_type, aggregate_id, payload, created_at
+            )
+            insert into outbox_dead_letters (id, event_type, aggregate_id, payload, created_at, attempts, last_error,
+                dead_lettered_at)
+            select id, event_type, aggregate_id, payload, created_at, :attempts, :lastError, now()
+            from dead""", nativeQuery = true)
+    int deadLetter(Long id, int attempts, String lastError);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox_events"))
+    @Modifying
+    @Query(value = """
+            insert into outbox_events (event_type, aggregate_id, payload, created_at)
+            select :eventType, e.aggregate_id, e.payload, now()
+            from unnest(:aggregateIds, cast(:payloads as text[])) as e(aggregate_id, payload)""", nativeQuery = true)
+    int insertAll(String eventType, UUID[] aggregateIds, String[] payloads);
+}
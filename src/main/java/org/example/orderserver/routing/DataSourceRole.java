@@ -0,0 +1,5 @@
+package org.example.orderserver.routing;
+
+public enum DataSourceRole {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,55 @@
+package org.example.orderserver.routing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+    private final Duration stickyWindow;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesInterceptor(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long lastWrite = lastWrites.get(clientKey(request));
+        if (lastWrite != null && System.nanoTime() - lastWrite < stickyWindow.toNanos()) {
+            ReplicaRoutingContext.forcePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        try {
+            if (ReplicaRoutingContext.hasWritten()) {
+                lastWrites.put(clientKey(request), System.nanoTime());
+            }
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${replica.sticky-window:5s}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= stickyWindow.toNanos());
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization == null
+                ? request.getRemoteAddr()
+                : DigestUtils.md5DigestAsHex(authorization.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.orderserver.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReplicaLagMonitor {
+    private static final String LAG_QUERY = """
+            select case
+                when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            end""";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final AtomicLong lagMillis = new AtomicLong(-1);
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, MeterRegistry meterRegistry,
+                             Duration maxLag) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+
+        Gauge.builder("datasource.replica.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${replica.lag-check-interval:1s}")
+    public void checkLag() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            lagMillis.set(lag == null ? 0 : lag.longValue());
+        } catch (RuntimeException e) {
+            log.warn("Replica lag check failed, routing reads to the primary", e);
+            lagMillis.set(-1);
+        }
+
+        boolean usable = lagMillis.get() >= 0 && lagMillis.get() <= maxLag.toMillis();
+        if (usable != replicaUsable) {
+            log.info("Replica {} for reads (lag {} ms)", usable ? "enabled" : "disabled", lagMillis.get());
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.orderserver.routing;
+
+import org.springframework.transaction.annotation.Transactional;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method in a read-only transaction, which the routing data source serves from the replica
+ * when one is configured and usable.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReplicaRead {
+}
@@ -0,0 +1,30 @@
+package org.example.orderserver.routing;
+
+public final class ReplicaRoutingContext {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> WROTE = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    public static void markWrite() {
+        WROTE.set(Boolean.TRUE);
+    }
+
+    public static boolean hasWritten() {
+        return WROTE.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+        WROTE.remove();
+    }
+}
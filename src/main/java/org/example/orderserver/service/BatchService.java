@@ -0,0 +1,308 @@
+package org.example.orderserver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import org.example.orderserver.dto.BatchOperationRequest;
+import org.example.orderserver.dto.BatchOperationResponse;
+import org.example.orderserver.dto.BatchRequest;
+import org.example.orderserver.dto.ItemRequest;
+import org.example.orderserver.dto.OrderItemRequest;
+import org.example.orderserver.dto.OrderLinesRequest;
+import org.example.orderserver.dto.OrderRequest;
+import org.example.orderserver.dto.OrderStatusTransitionRequest;
+import org.example.orderserver.entity.UserInfo;
+import org.example.orderserver.exception.ErrorResponse;
+import org.example.orderserver.exception.InconsistentDataException;
+import org.example.orderserver.routing.ReplicaRoutingContext;
+import org.example.orderserver.util.GlobalExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Service
+public class BatchService {
+    private static final Pattern REFERENCE = Pattern.compile("\\$\\{([^.}]+)(?:\\.([^}]+))?}");
+
+    private final OrderService orderService;
+    private final ItemService itemService;
+    private final OrderItemService orderItemService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ExceptionHandlerMethodResolver exceptionHandlerResolver =
+            new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+    private final TransactionTemplate transaction;
+
+    public BatchService(OrderService orderService, ItemService itemService, OrderItemService orderItemService,
+                        ObjectMapper objectMapper, Validator validator, GlobalExceptionHandler exceptionHandler,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${batch.atomic-timeout:10s}") Duration atomicTimeout) {
+        this.orderService = orderService;
+        this.itemService = itemService;
+        this.orderItemService = orderItemService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.exceptionHandler = exceptionHandler;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setTimeout((int) atomicTimeout.toSeconds());
+    }
+
+    public List<BatchOperationResponse> execute(BatchRequest batchRequest, String tokenHeader) {
+        Set<String> refs = new HashSet<>();
+        for (BatchOperationRequest operation : batchRequest.getOperations()) {
+            if (operation.getRef() != null && !refs.add(operation.getRef())) {
+                throw new InconsistentDataException("Operation ref '" + operation.getRef() + "' is used more than once");
+            }
+        }
+
+        if (!batchRequest.isAtomic()) {
+            return run(batchRequest.getOperations(), tokenHeader, null, null);
+        }
+
+        Map<String, UserLookup> users = findUsers(batchRequest.getOperations(), tokenHeader);
+        return transaction.execute(status -> run(batchRequest.getOperations(), tokenHeader, users, status));
+    }
+
+    private Map<String, UserLookup> findUsers(List<BatchOperationRequest> operations, String tokenHeader) {
+        Map<String, UserLookup> users = new HashMap<>();
+        for (BatchOperationRequest operation : operations) {
+            String email = switch (operation.getType()) {
+                case CREATE_ORDER -> operation.getBody() == null ? null
+                        : operation.getBody().path("userEmail").textValue();
+                case UPDATE_ORDER -> operation.getEmail();
+                default -> null;
+            };
+            if (email == null || REFERENCE.matcher(email).matches()) {
+                continue;
+            }
+
+            users.computeIfAbsent(email, key -> {
+                try {
+                    return new UserLookup(orderService.findUserByEmail(key, tokenHeader), null);
+                } catch (RuntimeException e) {
+                    return new UserLookup(null, e);
+                }
+            });
+        }
+
+        return users;
+    }
+
+    private List<BatchOperationResponse> run(List<BatchOperationRequest> operations, String tokenHeader,
+                                             Map<String, UserLookup> users, TransactionStatus status) {
+        Map<String, JsonNode> results = new HashMap<>();
+        List<BatchOperationResponse> responses = new ArrayList<>();
+        for (BatchOperationRequest operation : operations) {
+            if (status != null && status.isRollbackOnly()) {
+                responses.add(new BatchOperationResponse(operation.getRef(),
+                        BatchOperationResponse.Outcome.SKIPPED, null, null));
+                continue;
+            }
+
+            try {
+                Object result = apply(operation, results, tokenHeader, users);
+                JsonNode body = result == null ? null : objectMapper.valueToTree(result);
+                if (operation.getRef() != null && body != null) {
+                    results.put(operation.getRef(), body);
+                }
+                responses.add(new BatchOperationResponse(operation.getRef(), BatchOperationResponse.Outcome.SUCCEEDED,
+                        result == null ? HttpStatus.NO_CONTENT.value() : HttpStatus.OK.value(), body));
+            } catch (RuntimeException e) {
+                ResponseEntity<ErrorResponse> error = handle(e);
+                responses.add(new BatchOperationResponse(operation.getRef(), BatchOperationResponse.Outcome.FAILED,
+                        error.getStatusCode().value(), objectMapper.valueToTree(error.getBody())));
+                if (status != null) {
+                    status.setRollbackOnly();
+                }
+            }
+
+            if (ReplicaRoutingContext.hasWritten()) {
+                ReplicaRoutingContext.forcePrimary();
+            }
+        }
+
+        if (status != null && status.isRollbackOnly()) {
+            responses.replaceAll(response -> response.getOutcome() == BatchOperationResponse.Outcome.SUCCEEDED
+                    ? new BatchOperationResponse(response.getRef(), BatchOperationResponse.Outcome.ROLLED_BACK,
+                            null, null)
+                    : response);
+        }
+
+        return responses;
+    }
+
+    private Object apply(BatchOperationRequest operation, Map<String, JsonNode> results, String tokenHeader,
+                         Map<String, UserLookup> users) {
+        return switch (operation.getType()) {
+            case CREATE_ORDER -> {
+                OrderRequest orderRequest = body(operation, results, OrderRequest.class,
+                        OrderRequest.CreateValidation.class);
+                yield users == null ? orderService.save(orderRequest, tokenHeader)
+                        : orderService.save(orderRequest, user(orderRequest.getUserEmail(), users));
+            }
+            case UPDATE_ORDER -> {
+                UUID id = id(operation, results);
+                String email = email(operation, results);
+                OrderRequest orderRequest = body(operation, results, OrderRequest.class,
+                        OrderRequest.UpdateValidation.class);
+                yield users == null ? orderService.update(id, email, tokenHeader, orderRequest)
+                        : orderService.update(id, user(email, users), orderRequest);
+            }
+            case TRANSITION_ORDER_STATUSES -> orderService.transitionStatuses(
+                    body(operation, results, OrderStatusTransitionRequest.class, Default.class));
+            case DELETE_ORDER -> {
+                orderService.delete(id(operation, results));
+                yield null;
+            }
+            case CREATE_ITEM -> itemService.save(
+                    body(operation, results, ItemRequest.class, ItemRequest.CreateValidation.class));
+            case UPDATE_ITEM -> itemService.update(id(operation, results),
+                    body(operation, results, ItemRequest.class, ItemRequest.UpdateValidation.class));
+            case DELETE_ITEM -> {
+                itemService.delete(id(operation, results));
+                yield null;
+            }
+            case CREATE_ORDER_ITEM -> orderItemService.save(id(operation, results),
+                    body(operation, results, OrderItemRequest.class, OrderItemRequest.CreateValidation.class));
+            case UPDATE_ORDER_ITEM -> orderItemService.update(id(operation, results),
+                    body(operation, results, OrderItemRequest.class, OrderItemRequest.UpdateValidation.class));
+            case DELETE_ORDER_ITEM -> {
+                orderItemService.delete(id(operation, results));
+                yield null;
+            }
+            case UPDATE_ORDER_LINES -> orderItemService.updateLines(id(operation, results),
+                    body(operation, results, OrderLinesRequest.class, Default.class));
+        };
+    }
+
+    private UUID id(BatchOperationRequest operation, Map<String, JsonNode> results) {
+        String id = text(operation.getId(), results);
+        if (id == null) {
+            throw new InconsistentDataException("Operation id cannot be empty");
+        }
+
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new InconsistentDataException("Operation id '" + id + "' is not a UUID");
+        }
+    }
+
+    private UserInfo user(String email, Map<String, UserLookup> users) {
+        UserLookup user = users.get(email);
+        if (user == null) {
+            throw new InconsistentDataException("User email '" + email
+                    + "' must be given literally in an atomic batch");
+        }
+        if (user.error() != null) {
+            throw user.error();
+        }
+
+        return user.userInfo();
+    }
+
+    private String email(BatchOperationRequest operation, Map<String, JsonNode> results) {
+        String email = text(operation.getEmail(), results);
+        if (email == null) {
+            throw new InconsistentDataException("Operation email cannot be empty");
+        }
+
+        return email;
+    }
+
+    private String text(String value, Map<String, JsonNode> results) {
+        return value == null ? null : reference(value, results).map(JsonNode::asText).orElse(value);
+    }
+
+    private <T> T body(BatchOperationRequest operation, Map<String, JsonNode> results, Class<T> type,
+                       Class<?> group) {
+        if (operation.getBody() == null) {
+            throw new InconsistentDataException("Operation body cannot be empty");
+        }
+
+        T body;
+        try {
+            body = objectMapper.treeToValue(resolve(operation.getBody().deepCopy(), results), type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new InconsistentDataException("Operation body is malformed");
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(body, group);
+        if (!violations.isEmpty()) {
+            throw new InconsistentDataException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        return body;
+    }
+
+    private JsonNode resolve(JsonNode node, Map<String, JsonNode> results) {
+        if (node.isTextual()) {
+            return reference(node.textValue(), results).orElse(node);
+        }
+        if (node instanceof ObjectNode object) {
+            object.properties().forEach(field -> field.setValue(resolve(field.getValue(), results)));
+        } else if (node instanceof ArrayNode array) {
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, resolve(array.get(i), results));
+            }
+        }
+
+        return node;
+    }
+
+    private Optional<JsonNode> reference(String value, Map<String, JsonNode> results) {
+        Matcher matcher = REFERENCE.matcher(value);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+
+        JsonNode result = results.get(matcher.group(1));
+        if (result == null) {
+            throw new InconsistentDataException("Reference '" + value + "' does not name an earlier successful operation");
+        }
+
+        String path = matcher.group(2) == null ? "id" : matcher.group(2);
+        JsonNode resolved = result.at("/" + path.replace('.', '/'));
+        if (resolved.isMissingNode() || resolved.isNull()) {
+            throw new InconsistentDataException("Reference '" + value + "' does not resolve to a value");
+        }
+
+        return Optional.of(resolved);
+    }
+
+    private record UserLookup(UserInfo userInfo, RuntimeException error) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResponseEntity<ErrorResponse> handle(RuntimeException exception) {
+        return (ResponseEntity<ErrorResponse>) ReflectionUtils.invokeMethod(
+                exceptionHandlerResolver.resolveMethod(exception), exceptionHandler, exception);
+    }
+}
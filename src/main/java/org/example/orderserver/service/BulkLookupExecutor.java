@@ -0,0 +1,39 @@
+package org.example.orderserver.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Splits large key lists into chunks of {@code orders.lookup.chunk-size} and runs the chunks one after another
+ * on the caller's thread, so every chunk uses the caller's connection and sees the same transaction snapshot.
+ */
+@Component
+public class BulkLookupExecutor {
+    private final int chunkSize;
+
+    public BulkLookupExecutor(@Value("${orders.lookup.chunk-size:1000}") int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public <K, R> List<R> fetch(Collection<K> keys, Function<List<K>, List<R>> lookup) {
+        List<K> distinctKeys = List.copyOf(new LinkedHashSet<>(keys));
+        if (distinctKeys.isEmpty()) {
+            return List.of();
+        }
+        if (distinctKeys.size() <= chunkSize) {
+            return lookup.apply(distinctKeys);
+        }
+
+        List<R> results = new ArrayList<>();
+        for (int i = 0; i < distinctKeys.size(); i += chunkSize) {
+            results.addAll(lookup.apply(distinctKeys.subList(i, Math.min(i + chunkSize, distinctKeys.size()))));
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.orderserver.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+public class DailyRollupRebuildJob {
+    private final DailyRollupService dailyRollupService;
+
+    @Value("${reports.rebuild.days:7}")
+    private int days;
+
+    @Scheduled(cron = "${reports.rebuild.cron:-}")
+    public void rebuildRecentDays() {
+        LocalDate today = LocalDate.now();
+        dailyRollupService.rebuild(today.minusDays(days), today);
+    }
+}
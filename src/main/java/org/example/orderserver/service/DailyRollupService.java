@@ -0,0 +1,118 @@
+package org.example.orderserver.service;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.example.orderserver.dto.DailyItemSalesResponse;
+import org.example.orderserver.dto.DailyReportResponse;
+import org.example.orderserver.entity.DailyOrderStats;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.exception.InconsistentDataException;
+import org.example.orderserver.mapper.ReportMapper;
+import org.example.orderserver.repository.DailyItemSalesRepository;
+import org.example.orderserver.repository.DailyOrderStatsRepository;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class DailyRollupService {
+    private final DailyOrderStatsRepository dailyOrderStatsRepository;
+    private final DailyItemSalesRepository dailyItemSalesRepository;
+    private final ReportMapper mapper;
+
+    public void orderCreated(UUID orderId) {
+        dailyOrderStatsRepository.addOrder(orderId, 1);
+        dailyItemSalesRepository.addOrderSales(orderId, 1);
+    }
+
+    public void orderDeleting(UUID orderId) {
+        dailyOrderStatsRepository.addOrder(orderId, -1);
+        dailyItemSalesRepository.addOrderSales(orderId, -1);
+    }
+
+    public void orderStatusChanged(LocalDate day, OrderStatus previousStatus, OrderStatus status) {
+        ordersStatusChanged(day, previousStatus, status, 1);
+    }
+
+    public void ordersStatusChanged(LocalDate day, OrderStatus previousStatus, OrderStatus status, long count) {
+        if (previousStatus == status || count == 0) {
+            return;
+        }
+
+        dailyOrderStatsRepository.addOrders(day, previousStatus.name(), -count);
+        dailyOrderStatsRepository.addOrders(day, status.name(), count);
+    }
+
+    public void lineAdded(UUID orderItemId) {
+        dailyItemSalesRepository.addLineSales(orderItemId, 1);
+    }
+
+    public void lineQuantityAdded(UUID orderItemId, long quantity) {
+        dailyItemSalesRepository.addLineQuantity(orderItemId, quantity);
+    }
+
+    public void lineRemoving(UUID orderItemId) {
+        dailyItemSalesRepository.addLineSales(orderItemId, -1);
+    }
+
+    public void linesChanging(UUID orderId) {
+        dailyItemSalesRepository.addOrderSales(orderId, -1);
+    }
+
+    public void linesChanged(UUID orderId) {
+        dailyItemSalesRepository.addOrderSales(orderId, 1);
+    }
+
+    public void itemDeleting(UUID itemId) {
+        dailyItemSalesRepository.deleteByItemId(itemId);
+    }
+
+    @Transactional
+    public void rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        dailyOrderStatsRepository.lockRollupTables();
+        dailyOrderStatsRepository.deleteByDayBetween(from, to);
+        dailyOrderStatsRepository.rebuild(from, to);
+        dailyItemSalesRepository.deleteByDayBetween(from, to);
+        dailyItemSalesRepository.rebuild(from, to);
+    }
+
+    public List<DailyReportResponse> findDailyReport(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        Map<LocalDate, DailyReportResponse> report = new TreeMap<>();
+        dailyItemSalesRepository.sumByDayBetween(from, to)
+                .forEach(sales -> report.put(sales.getDay(), sales));
+
+        for (DailyOrderStats stats : dailyOrderStatsRepository.findByDayBetweenOrderByDay(from, to)) {
+            if (stats.getOrderCount() == 0) {
+                continue;
+            }
+
+            report.computeIfAbsent(stats.getDay(), day -> new DailyReportResponse(day, 0L, 0.0))
+                    .getOrderCounts().put(stats.getStatus(), stats.getOrderCount());
+        }
+
+        return List.copyOf(report.values());
+    }
+
+    public List<DailyItemSalesResponse> findDailyItemSales(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        return dailyItemSalesRepository.findByDayBetweenOrderByDay(from, to).stream()
+                .filter(sales -> sales.getQuantity() != 0)
+                .map(mapper::toResponse)
+                .toList();
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InconsistentDataException("Report date range is empty");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.orderserver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.example.orderserver.entity.IdempotencyKey;
+import org.example.orderserver.entity.IdempotencyKeyId;
+import org.example.orderserver.exception.IdempotencyKeyConflictException;
+import org.example.orderserver.exception.InconsistentDataException;
+import org.example.orderserver.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl:24h}") Duration ttl) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    @Transactional
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InconsistentDataException("Idempotency key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        idempotencyKeyRepository.lock(scope + ":" + key);
+
+        String requestHash = hash(request);
+        Optional<IdempotencyKey> stored = idempotencyKeyRepository.findById(new IdempotencyKeyId(scope, key))
+                .filter(idempotencyKey -> idempotencyKey.getCreatedAt().isAfter(OffsetDateTime.now().minus(ttl)));
+        if (stored.isPresent()) {
+            if (!stored.get().getRequestHash().equals(requestHash)) {
+                throw new IdempotencyKeyConflictException("Idempotency key was used with a different request");
+            }
+
+            return read(stored.get().getResponse(), responseType);
+        }
+
+        T response = action.get();
+
+        IdempotencyKey idempotencyKey = new IdempotencyKey();
+        idempotencyKey.setScope(scope);
+        idempotencyKey.setIdempotencyKey(key);
+        idempotencyKey.setRequestHash(requestHash);
+        idempotencyKey.setResponse(write(response));
+        idempotencyKey.setCreatedAt(OffsetDateTime.now());
+        idempotencyKeyRepository.save(idempotencyKey);
+
+        return response;
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:1h}")
+    public void deleteExpired() {
+        idempotencyKeyRepository.deleteExpired(OffsetDateTime.now().minus(ttl));
+    }
+
+    private String hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash idempotent request", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    private <T> T read(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize idempotent response", e);
+        }
+    }
+}
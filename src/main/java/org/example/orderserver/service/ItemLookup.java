@@ -0,0 +1,34 @@
+package org.example.orderserver.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.example.orderserver.entity.Item;
+import org.example.orderserver.jfr.ItemCacheMissEvent;
+import org.example.orderserver.repository.ItemRepository;
+import org.springframework.stereotype.Component;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class ItemLookup {
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public Optional<Item> findById(UUID itemId) {
+        if (entityManagerFactory.getCache().contains(Item.class, itemId)) {
+            return itemRepository.findById(itemId);
+        }
+
+        ItemCacheMissEvent event = new ItemCacheMissEvent();
+        event.begin();
+
+        Optional<Item> item = itemRepository.findById(itemId);
+
+        event.itemId = itemId.toString();
+        event.found = item.isPresent();
+        event.commit();
+
+        return item;
+    }
+}
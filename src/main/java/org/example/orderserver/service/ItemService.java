@@ -1,15 +1,22 @@
 package org.example.orderserver.service;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.example.orderserver.dto.ItemRequest;
 import org.example.orderserver.dto.ItemResponse;
+import org.example.orderserver.dto.OrderItemResponse;
 import org.example.orderserver.entity.Item;
 import org.example.orderserver.exception.ItemNotFoundException;
 import org.example.orderserver.mapper.ItemMapper;
 import org.example.orderserver.repository.ItemRepository;
 import org.example.orderserver.repository.OrderItemRepository;
+import org.example.orderserver.routing.ReplicaRead;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -18,11 +25,15 @@ public class ItemService {
     private final ItemRepository itemRepository;
     private final OrderItemRepository orderItemRepository;
     private final ItemMapper mapper;
+    private final DailyRollupService dailyRollupService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final OutboxService outboxService;
 
     public ItemResponse save(ItemRequest itemRequest) {
         return mapper.toResponse(itemRepository.save(mapper.toEntity(itemRequest)));
     }
 
+    @ReplicaRead
     public ItemResponse findById(UUID id) {
         return mapper.toResponse(itemRepository.findById(id).orElseThrow(
                 () -> new ItemNotFoundException("Item not found")));
@@ -30,28 +41,33 @@ public class ItemService {
 
     @Transactional
     public ItemResponse update(UUID id, ItemRequest itemRequest) {
-        Item item = itemRepository.findById(id).orElseThrow(
-                () -> new ItemNotFoundException("Item not found"));
+        ItemResponse itemResponse = itemRepository.updateReturning(id, itemRequest.getName(), itemRequest.getPrice())
+                .orElseThrow(() -> new ItemNotFoundException("Item not found"));
+        evictFromCache(id);
 
-        if (itemRequest.getName() != null) {
-            item.setName(itemRequest.getName());
-        }
-        if (itemRequest.getPrice() != null) {
-            item.setPrice(itemRequest.getPrice());
-        }
-
-        return mapper.toResponse(itemRepository.save(item));
+        return itemResponse;
     }
 
     @Transactional
     public void delete(UUID id) {
-        if (!itemRepository.existsById(id)) {
-            throw new ItemNotFoundException("Item not found");
-        }
+        List<OrderItemResponse> orderItems = orderItemRepository.deleteByItemIdReturning(id);
+        itemRepository.deleteReturningId(id).orElseThrow(() -> new ItemNotFoundException("Item not found"));
+        evictFromCache(id);
 
-        orderItemRepository.findByItemId(id).forEach(
-                orderItem -> orderItemRepository.deleteById(orderItem.getId()));
+        dailyRollupService.itemDeleting(id);
+        outboxService.orderItemsDeleted(orderItems);
+    }
 
-        itemRepository.deleteById(id);
+    private void evictFromCache(UUID id) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Item.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Item.class, id);
+                }
+            });
+        }
     }
 }
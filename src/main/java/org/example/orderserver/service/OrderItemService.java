@@ -4,65 +4,157 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.example.orderserver.dto.OrderItemRequest;
 import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderItemUpsert;
+import org.example.orderserver.dto.OrderLineRequest;
+import org.example.orderserver.dto.OrderLinesRequest;
 import org.example.orderserver.entity.Item;
-import org.example.orderserver.entity.Order;
-import org.example.orderserver.entity.OrderItem;
+import org.example.orderserver.entity.OutboxEventType;
+import org.example.orderserver.exception.InconsistentDataException;
 import org.example.orderserver.exception.ItemNotFoundException;
 import org.example.orderserver.exception.OrderItemNotFoundException;
 import org.example.orderserver.exception.OrderNotFoundException;
 import org.example.orderserver.mapper.OrderItemMapper;
+import org.example.orderserver.repository.ArchivedOrderItemRepository;
 import org.example.orderserver.repository.ItemRepository;
 import org.example.orderserver.repository.OrderItemRepository;
 import org.example.orderserver.repository.OrderRepository;
+import org.example.orderserver.routing.ReplicaRead;
 import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderItemService {
     private final ItemRepository itemRepository;
+    private final ItemLookup itemLookup;
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
-    private final OrderItemMapper mapper;
+    private final DailyRollupService dailyRollupService;
+    private final OutboxService outboxService;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final OrderItemMapper orderItemMapper;
 
+    @Transactional
     public OrderItemResponse save(UUID orderId, OrderItemRequest orderItemRequest) {
-        Item item = itemRepository.findById(orderItemRequest.getItemId())
+        Item item = itemLookup.findById(orderItemRequest.getItemId())
                 .orElseThrow(() -> new ItemNotFoundException("Item not found"));
 
-        OrderItem orderItem = mapper.toEntity(orderItemRequest);
-        orderItem.setItem(item);
+        OrderItemUpsert orderItemUpsert = orderItemRepository.upsert(UUID.randomUUID(), orderId, item.getId(),
+                        orderItemRequest.getQuantity(), item.getPrice())
+                .orElseThrow(() -> new OrderNotFoundException("Order not found"));
+        OrderItemResponse orderItemResponse = orderItemMapper.toResponse(orderItemUpsert);
+        dailyRollupService.lineQuantityAdded(orderItemResponse.getId(), orderItemRequest.getQuantity());
 
-        Order order = orderRepository.findById(orderId).orElseThrow(
-                () -> new OrderNotFoundException("Order not found"));
-        order.getOrderItems().add(orderItem);
-        orderItem.setOrder(order);
+        outboxService.orderItemChanged(orderItemUpsert.getInserted() ? OutboxEventType.ORDER_ITEM_CREATED
+                : OutboxEventType.ORDER_ITEM_UPDATED, orderItemResponse);
 
-        return mapper.toResponse(orderItemRepository.save(orderItem));
+        return orderItemResponse;
     }
 
+    @ReplicaRead
     public OrderItemResponse findById(UUID id) {
-        return mapper.toResponse(orderItemRepository.findById(id).orElseThrow(
-                () -> new OrderItemNotFoundException("Order item not found")));
+        return orderItemRepository.findResponseById(id)
+                .or(() -> archivedOrderItemRepository.findResponseById(id))
+                .orElseThrow(() -> new OrderItemNotFoundException("Order item not found"));
     }
 
     @Transactional
     public OrderItemResponse update(UUID id, OrderItemRequest orderItemRequest) {
-        OrderItem orderItem = orderItemRepository.findById(id).orElseThrow(
-                () -> new OrderItemNotFoundException("Order item not found"));
-
-        if (orderItemRequest.getQuantity() != null) {
-            orderItem.setQuantity(orderItemRequest.getQuantity());
-        }
+        dailyRollupService.lineRemoving(id);
+        OrderItemResponse orderItemResponse = orderItemRepository.updateReturning(id, orderItemRequest.getQuantity())
+                .orElseThrow(() -> new OrderItemNotFoundException("Order item not found"));
+        dailyRollupService.lineAdded(id);
+        outboxService.orderItemChanged(OutboxEventType.ORDER_ITEM_UPDATED, orderItemResponse);
 
-        return mapper.toResponse(orderItemRepository.save(orderItem));
+        return orderItemResponse;
     }
 
     @Transactional
     public void delete(UUID id) {
-        if (!orderItemRepository.existsById(id)) {
-            throw new OrderItemNotFoundException("Order item not found");
+        dailyRollupService.lineRemoving(id);
+        UUID orderId = orderItemRepository.deleteReturningOrderId(id).orElseThrow(
+                () -> new OrderItemNotFoundException("Order item not found"));
+
+        outboxService.orderItemDeleted(orderId, id);
+    }
+
+    @Transactional
+    public List<OrderItemResponse> updateLines(UUID orderId, OrderLinesRequest orderLinesRequest) {
+        Map<UUID, Long> quantities = new LinkedHashMap<>();
+        for (OrderLineRequest line : orderLinesRequest.getLines()) {
+            if (quantities.put(line.getItemId(), line.getQuantity()) != null) {
+                throw new InconsistentDataException("Item with id '" + line.getItemId() + "' is listed more than once");
+            }
+        }
+
+        LocalDate creationDate = orderRepository.lockById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found"));
+
+        Set<UUID> missingItemIds = quantities.entrySet().stream()
+                .filter(line -> line.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!missingItemIds.isEmpty()) {
+            itemRepository.findExistingIds(missingItemIds.toArray(UUID[]::new)).forEach(missingItemIds::remove);
+        }
+        if (!missingItemIds.isEmpty()) {
+            throw new ItemNotFoundException("Item with id '" + missingItemIds.iterator().next() + "' not found");
+        }
+
+        Map<UUID, OrderItemResponse> lines = new LinkedHashMap<>();
+        orderItemRepository.findResponsesByOrderId(orderId, creationDate)
+                .forEach(line -> lines.put(line.getItemId(), line));
+
+        List<UUID> removedItemIds = new ArrayList<>();
+        List<UUID> changedItemIds = new ArrayList<>();
+        List<Long> changedQuantities = new ArrayList<>();
+        quantities.forEach((itemId, quantity) -> {
+            OrderItemResponse line = lines.get(itemId);
+            if (quantity == 0) {
+                if (line != null) {
+                    removedItemIds.add(itemId);
+                }
+            } else if (line == null || !line.getQuantity().equals(quantity)) {
+                changedItemIds.add(itemId);
+                changedQuantities.add(quantity);
+            }
+        });
+        if (orderLinesRequest.isReplace()) {
+            lines.keySet().stream()
+                    .filter(itemId -> !quantities.containsKey(itemId))
+                    .forEach(removedItemIds::add);
+        }
+
+        if (removedItemIds.isEmpty() && changedItemIds.isEmpty()) {
+            return List.copyOf(lines.values());
+        }
+
+        dailyRollupService.linesChanging(orderId);
+        if (!removedItemIds.isEmpty()) {
+            orderItemRepository.deleteByOrderIdAndItemIds(orderId, creationDate, removedItemIds.toArray(UUID[]::new));
+        }
+        List<OrderItemResponse> changedLines = changedItemIds.isEmpty() ? List.of()
+                : orderItemRepository.upsertAll(orderId, creationDate, changedItemIds.toArray(UUID[]::new),
+                        changedQuantities.toArray(Long[]::new));
+        dailyRollupService.linesChanged(orderId);
+
+        for (UUID itemId : removedItemIds) {
+            outboxService.orderItemDeleted(orderId, lines.remove(itemId).getId());
+        }
+        for (OrderItemResponse changedLine : changedLines) {
+            OrderItemResponse line = lines.put(changedLine.getItemId(), changedLine);
+            outboxService.orderItemChanged(line == null ? OutboxEventType.ORDER_ITEM_CREATED
+                    : OutboxEventType.ORDER_ITEM_UPDATED, changedLine);
         }
 
-        orderItemRepository.deleteById(id);
+        return List.copyOf(lines.values());
     }
 }
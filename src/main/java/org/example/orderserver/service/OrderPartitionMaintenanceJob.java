@@ -0,0 +1,33 @@
+package org.example.orderserver.service;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderPartitionMaintenanceJob {
+    private final OrderRepository orderRepository;
+
+    @Value("${orders.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${orders.partitioning.cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        LocalDate today = LocalDate.now();
+        int created = orderRepository.createPartitions(today, today.plusMonths(monthsAhead));
+        if (created > 0) {
+            log.info("Created {} monthly order partitions up to {}", created, today.plusMonths(monthsAhead));
+        }
+    }
+}
@@ -2,8 +2,22 @@ package org.example.orderserver.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.example.orderserver.dto.OrderChange;
+import org.example.orderserver.dto.OrderChangePageResponse;
+import org.example.orderserver.dto.OrderChangeResponse;
+import org.example.orderserver.dto.OrderField;
+import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderPageResponse;
+import org.example.orderserver.dto.OrderProjection;
 import org.example.orderserver.dto.OrderRequest;
 import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.dto.OrderSearchRequest;
+import org.example.orderserver.dto.OrderStatusEvent;
+import org.example.orderserver.dto.OrderStatusTransition;
+import org.example.orderserver.dto.OrderStatusTransitionRequest;
+import org.example.orderserver.dto.OrderStatusTransitionResponse;
+import org.example.orderserver.dto.OrderStatusView;
+import org.example.orderserver.dto.OrderTotalResponse;
 import org.example.orderserver.entity.Item;
 import org.example.orderserver.entity.Order;
 import org.example.orderserver.entity.OrderItem;
@@ -14,129 +28,439 @@ import org.example.orderserver.exception.InconsistentDataException;
 import org.example.orderserver.exception.ItemNotFoundException;
 import org.example.orderserver.exception.OrderNotFoundException;
 import org.example.orderserver.exception.UserNotFoundException;
+import org.example.orderserver.jfr.BulkReadEvent;
+import org.example.orderserver.jfr.OrderCreateEvent;
 import org.example.orderserver.mapper.OrderMapper;
-import org.example.orderserver.repository.ItemRepository;
+import org.example.orderserver.repository.ArchivedOrderItemRepository;
+import org.example.orderserver.repository.OrderItemRepository;
 import org.example.orderserver.repository.OrderRepository;
+import org.example.orderserver.routing.ReplicaRead;
+import org.example.orderserver.util.ChangeCursor;
+import org.example.orderserver.util.OrderCursor;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final OrderMapper mapper;
-    private final ItemRepository itemRepository;
+    private final ItemLookup itemLookup;
     private final UserService userService;
+    private final DailyRollupService dailyRollupService;
+    private final OutboxService outboxService;
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final BulkLookupExecutor bulkLookupExecutor;
 
     @Transactional
     public OrderResponse save(OrderRequest orderRequest, String tokenHeader) {
+        return save(orderRequest, () -> findUserByEmail(orderRequest.getUserEmail(), tokenHeader));
+    }
+
+    @Transactional
+    public OrderResponse save(OrderRequest orderRequest, UserInfo userInfo) {
+        return save(orderRequest, () -> userInfo);
+    }
+
+    private OrderResponse save(OrderRequest orderRequest, Supplier<UserInfo> user) {
+        OrderCreateEvent event = new OrderCreateEvent();
+        event.begin();
+
         Order order = mapper.toEntity(orderRequest);
         order.setCreationDate(LocalDate.now());
 
+        Map<UUID, OrderItem> orderItems = new LinkedHashMap<>();
         for (int i = 0; i < order.getOrderItems().size(); i++) {
             OrderItem orderItem = order.getOrderItems().get(i);
-            orderItem.setOrder(order);
-
             UUID itemId = orderRequest.getOrderItems().get(i).getItemId();
-            Item item = itemRepository.findById(itemId).orElseThrow(
+
+            OrderItem sameItem = orderItems.get(itemId);
+            if (sameItem != null) {
+                sameItem.setQuantity(sameItem.getQuantity() + orderItem.getQuantity());
+                continue;
+            }
+
+            orderItem.setOrder(order);
+            Item item = itemLookup.findById(itemId).orElseThrow(
                     () -> new ItemNotFoundException("Item with id '"+ itemId + "' not found"));
             orderItem.setItem(item);
+            orderItem.setPrice(item.getPrice());
+            orderItems.put(itemId, orderItem);
         }
+        order.setOrderItems(new ArrayList<>(orderItems.values()));
 
-        UserInfo userInfo = userService.getUserInfoByEmail(getTokenFromHeader(tokenHeader), orderRequest.getUserEmail());
-        if (userInfo == null) {
-            throw new UserNotFoundException("User not found");
-        }
+        UserInfo userInfo = user.get();
         order.setUserId(userInfo.getId());
 
-        OrderResponse orderResponse = mapper.toResponse(orderRepository.save(order));
+        Order savedOrder = orderRepository.save(order);
+        dailyRollupService.orderCreated(savedOrder.getId());
+        outboxService.orderCreated(savedOrder);
+        OrderResponse orderResponse = toResponse(savedOrder);
         orderResponse.setUserInfo(userInfo);
 
+        event.orderId = String.valueOf(savedOrder.getId());
+        event.userId = String.valueOf(userInfo.getId());
+        event.itemCount = order.getOrderItems().size();
+        event.commit();
+
         return orderResponse;
     }
 
+    @ReplicaRead
     public OrderResponse findById(UUID id, String email, String tokenHeader) {
-        Order order = orderRepository.findById(id).orElseThrow(
-                () -> new OrderNotFoundException("Order not found"));
-        OrderResponse orderResponse = mapper.toResponse(order);
+        List<OrderProjection> orders = orderRepository.findProjectionsByIds(List.of(id), OrderField.ALL, false);
+        List<OrderProjection> archivedOrders = orders.isEmpty()
+                ? orderRepository.findProjectionsByIds(List.of(id), OrderField.ALL, true) : List.of();
+        OrderProjection order = Stream.concat(orders.stream(), archivedOrders.stream()).findFirst()
+                .orElseThrow(() -> new OrderNotFoundException("Order not found"));
 
-        UserInfo userInfo = userService.getUserInfoByEmail(getTokenFromHeader(tokenHeader), email);
-        if (userInfo == null) {
-            throw new UserNotFoundException("User not found");
-        }
+        UserInfo userInfo = findUserByEmail(email, tokenHeader);
         if (!userInfo.getId().equals(order.getUserId())) {
             throw new InconsistentDataException("User id mismatch");
         }
 
-        orderResponse.setUserInfo(userInfo);
+        return createOrderResponses(orders, archivedOrders, OrderField.ALL, userId -> userInfo).getFirst();
+    }
 
-        return orderResponse;
+    @ReplicaRead
+    public List<OrderResponse> findByIds(List<UUID> ids, boolean includeArchived, Set<OrderField> fields,
+                                         String tokenHeader) {
+        BulkReadEvent event = new BulkReadEvent();
+        event.begin();
+
+        List<OrderProjection> orders = bulkLookupExecutor.fetch(ids,
+                chunk -> orderRepository.findProjectionsByIds(chunk, fields, false));
+        List<OrderProjection> archivedOrders = List.of();
+        if (includeArchived) {
+            Set<UUID> foundIds = orders.stream().map(OrderProjection::getId).collect(Collectors.toSet());
+            List<UUID> missingIds = ids.stream().filter(id -> !foundIds.contains(id)).toList();
+            archivedOrders = bulkLookupExecutor.fetch(missingIds,
+                    chunk -> orderRepository.findProjectionsByIds(chunk, fields, true));
+        }
+        Map<UUID, OrderResponse> responsesById = createOrderResponses(orders, archivedOrders, fields, tokenHeader)
+                .stream().collect(Collectors.toMap(OrderResponse::getId, Function.identity()));
+        List<OrderResponse> orderResponses = ids.stream().distinct().map(responsesById::get)
+                .filter(Objects::nonNull).toList();
+
+        event.operation = "findByIds";
+        event.criteria = fields.toString();
+        event.requestedCount = ids.size();
+        event.resultCount = orderResponses.size();
+        event.commit();
+
+        return orderResponses;
+    }
+
+    @ReplicaRead
+    public List<OrderResponse> findByStatuses(List<OrderStatus> statuses, Set<OrderField> fields,
+                                             String tokenHeader) {
+        BulkReadEvent event = new BulkReadEvent();
+        event.begin();
+
+        List<OrderProjection> orders = orderRepository.findProjectionsByStatuses(statuses, fields);
+        List<OrderResponse> orderResponses = createOrderResponses(orders, List.of(), fields, tokenHeader);
+
+        event.operation = "findByStatuses";
+        event.criteria = statuses + " " + fields;
+        event.requestedCount = statuses.size();
+        event.resultCount = orderResponses.size();
+        event.commit();
+
+        return orderResponses;
+    }
+
+    @ReplicaRead
+    public OrderPageResponse findByUser(String email, String cursor, int size, boolean includeArchived,
+                                        String tokenHeader) {
+        UserInfo userInfo = findUserByEmail(email, tokenHeader);
+
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<UUID> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = includeArchived
+                    ? orderRepository.findIdsByUserIdIncludingArchived(userInfo.getId(), limit + 1)
+                    : orderRepository.findIdsByUserId(userInfo.getId(), limit + 1);
+        } else {
+            OrderCursor orderCursor = OrderCursor.decode(cursor);
+            ids = includeArchived
+                    ? orderRepository.findIdsByUserIdIncludingArchivedAfter(userInfo.getId(),
+                            orderCursor.creationDate(), orderCursor.id(), limit + 1)
+                    : orderRepository.findIdsByUserIdAfter(userInfo.getId(),
+                            orderCursor.creationDate(), orderCursor.id(), limit + 1);
+        }
+
+        return createOrderPage(ids, limit, includeArchived, (orders, archivedOrders) ->
+                createOrderResponses(orders, archivedOrders, OrderField.ALL, userId -> userInfo));
+    }
+
+    @ReplicaRead
+    public OrderPageResponse search(OrderSearchRequest searchRequest, String tokenHeader) {
+        if (searchRequest.getCreatedFrom() != null && searchRequest.getCreatedTo() != null
+                && searchRequest.getCreatedFrom().isAfter(searchRequest.getCreatedTo())) {
+            throw new InconsistentDataException("Creation date range is empty");
+        }
+
+        int limit = Math.clamp(searchRequest.getSize() == null ? DEFAULT_PAGE_SIZE : searchRequest.getSize(),
+                1, MAX_PAGE_SIZE);
+        OrderCursor cursor = searchRequest.getCursor() == null || searchRequest.getCursor().isBlank()
+                ? null : OrderCursor.decode(searchRequest.getCursor());
+
+        List<UUID> ids = orderRepository.searchIds(searchRequest, cursor, limit + 1);
+
+        return createOrderPage(ids, limit, searchRequest.isIncludeArchived(), (orders, archivedOrders) ->
+                createOrderResponses(orders, archivedOrders, OrderField.ALL, tokenHeader));
     }
 
-    public List<OrderResponse> findByIds(List<UUID> ids, String tokenHeader) {
-        List<Order> orders = orderRepository.findByIds(ids);
+    public OrderChangePageResponse findChanges(String cursor, int size, String tokenHeader) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        ChangeCursor after = cursor == null || cursor.isBlank() ? new ChangeCursor(0, 0) : ChangeCursor.decode(cursor);
+
+        List<OrderChange> fetched = orderRepository.findChangesAfter(after.changeXid(), after.changeSeq(), limit + 1);
+        boolean hasMore = fetched.size() > limit;
+        List<OrderChange> changes = hasMore ? fetched.subList(0, limit) : fetched;
+
+        List<UUID> orderIds = changes.stream().filter(change -> !change.getDeleted())
+                .map(OrderChange::getOrderId).toList();
+        Map<UUID, OrderResponse> orders = orderIds.isEmpty() ? Map.of()
+                : createOrderResponses(orderRepository.findProjectionsByIds(orderIds, OrderField.ALL, false), List.of(),
+                        OrderField.ALL, tokenHeader).stream()
+                        .collect(Collectors.toMap(OrderResponse::getId, Function.identity()));
+
+        List<OrderChangeResponse> changeResponses = changes.stream()
+                .map(change -> new OrderChangeResponse(change.getOrderId(), change.getDeleted(),
+                        orders.get(change.getOrderId())))
+                .toList();
+        String nextCursor = changes.isEmpty()
+                ? after.encode()
+                : new ChangeCursor(changes.getLast().getChangeXid(), changes.getLast().getChangeSeq()).encode();
 
-        return createOrderResponses(orders, tokenHeader);
+        return new OrderChangePageResponse(changeResponses, nextCursor, hasMore);
     }
 
-    public List<OrderResponse> findByStatuses(List<OrderStatus> statuses, String tokenHeader) {
-        List<Order> orders = orderRepository.findByStatuses(statuses);
+    @ReplicaRead
+    public List<OrderTotalResponse> findTotalsByIds(List<UUID> ids) {
+        Map<UUID, OrderTotalResponse> totals = bulkLookupExecutor
+                .fetch(ids, chunk -> orderRepository.findTotalsByIds(chunk.toArray(UUID[]::new))).stream()
+                .collect(Collectors.toMap(OrderTotalResponse::getOrderId, Function.identity()));
 
-        return createOrderResponses(orders, tokenHeader);
+        return ids.stream().distinct().map(totals::get).filter(Objects::nonNull).toList();
     }
 
     @Transactional
     public OrderResponse update(UUID id, String email, String tokenHeader, OrderRequest orderRequest) {
+        return update(id, () -> findUserByEmail(email, tokenHeader), orderRequest);
+    }
+
+    @Transactional
+    public OrderResponse update(UUID id, UserInfo userInfo, OrderRequest orderRequest) {
+        return update(id, () -> userInfo, orderRequest);
+    }
+
+    private OrderResponse update(UUID id, Supplier<UserInfo> user, OrderRequest orderRequest) {
         Order order = orderRepository.findById(id).orElseThrow(
                 () -> new OrderNotFoundException("Order not found"));
 
-        UserInfo userInfo = userService.getUserInfoByEmail(getTokenFromHeader(tokenHeader), email);
-        if (userInfo == null) {
-            throw new UserNotFoundException("User not found");
-        }
+        UserInfo userInfo = user.get();
         if (!userInfo.getId().equals(order.getUserId())) {
             throw new InconsistentDataException("User id mismatch");
         }
 
+        OrderStatus previousStatus = order.getStatus();
         if (orderRequest.getStatus() != null) {
+            if (!orderRequest.getStatus().canTransitionFrom(previousStatus)) {
+                throw new InconsistentDataException("Order status cannot change from " + previousStatus
+                        + " to " + orderRequest.getStatus());
+            }
             order.setStatus(orderRequest.getStatus());
         }
 
-        OrderResponse orderResponse = mapper.toResponse(orderRepository.save(order));
+        OrderResponse orderResponse = toResponse(orderRepository.save(order));
+        dailyRollupService.orderStatusChanged(order.getCreationDate(), previousStatus, order.getStatus());
+        outboxService.orderStatusChanged(order.getId(), order.getUserId(), previousStatus, order.getStatus());
+        orderStatusStreamService.publish(order, previousStatus);
         orderResponse.setUserInfo(userInfo);
 
         return orderResponse;
     }
 
+    @Transactional
+    public List<OrderStatusTransitionResponse> transitionStatuses(OrderStatusTransitionRequest request) {
+        OrderStatus status = request.getStatus();
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(request.getOrderIds()));
+        String[] predecessors = status.getAllowedPredecessors().stream().map(Enum::name).toArray(String[]::new);
+
+        List<OrderStatusTransition> transitions = predecessors.length == 0 ? List.of()
+                : orderRepository.transitionStatuses(ids.toArray(UUID[]::new), predecessors, status.name());
+
+        Map<UUID, OrderStatusTransitionResponse> outcomes = new HashMap<>();
+        Map<LocalDate, Map<OrderStatus, Long>> rollupDeltas = new HashMap<>();
+        List<OrderStatusEvent> events = new ArrayList<>();
+        for (OrderStatusTransition transition : transitions) {
+            OrderStatus previousStatus = OrderStatus.valueOf(transition.getPreviousStatus());
+            outcomes.put(transition.getOrderId(), new OrderStatusTransitionResponse(transition.getOrderId(),
+                    OrderStatusTransitionResponse.Outcome.TRANSITIONED, previousStatus, status));
+            rollupDeltas.computeIfAbsent(transition.getCreationDate(), day -> new HashMap<>())
+                    .merge(previousStatus, 1L, Long::sum);
+            events.add(orderStatusStreamService.createEvent(transition.getOrderId(), transition.getUserId(),
+                    previousStatus, status));
+        }
+
+        rollupDeltas.forEach((day, counts) -> counts.forEach((previousStatus, count) ->
+                dailyRollupService.ordersStatusChanged(day, previousStatus, status, count)));
+        outboxService.ordersStatusChanged(transitions, status);
+        orderStatusStreamService.publishAll(events);
+
+        if (outcomes.size() < ids.size()) {
+            UUID[] remainingIds = ids.stream().filter(id -> !outcomes.containsKey(id)).toArray(UUID[]::new);
+            for (OrderStatusView view : orderRepository.findStatusesByIds(remainingIds)) {
+                OrderStatus currentStatus = OrderStatus.valueOf(view.getStatus());
+                OrderStatusTransitionResponse.Outcome outcome = currentStatus == status
+                        ? OrderStatusTransitionResponse.Outcome.UNCHANGED
+                        : OrderStatusTransitionResponse.Outcome.NOT_ALLOWED;
+                outcomes.put(view.getOrderId(), new OrderStatusTransitionResponse(view.getOrderId(), outcome,
+                        currentStatus, currentStatus));
+            }
+        }
+
+        return ids.stream().map(id -> outcomes.getOrDefault(id, new OrderStatusTransitionResponse(id,
+                OrderStatusTransitionResponse.Outcome.NOT_FOUND, null, null))).toList();
+    }
+
     @Transactional
     public void delete(UUID id) {
-        if (!orderRepository.existsById(id)) {
+        dailyRollupService.orderDeleting(id);
+        if (orderRepository.deleteOrderById(id) == 0) {
             throw new OrderNotFoundException("Order not found");
         }
 
-        orderRepository.deleteById(id);
+        outboxService.orderDeleted(id);
+    }
+
+    private OrderPageResponse createOrderPage(List<UUID> ids, int limit, boolean includeArchived,
+                                              BiFunction<List<OrderProjection>, List<OrderProjection>,
+                                                      List<OrderResponse>> toResponses) {
+        boolean hasNext = ids.size() > limit;
+        List<UUID> pageIds = hasNext ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new OrderPageResponse(List.of(), null);
+        }
+
+        List<OrderProjection> orders = orderRepository.findProjectionsByIds(pageIds, OrderField.ALL, false);
+        List<OrderProjection> archivedOrders = List.of();
+        if (includeArchived && orders.size() < pageIds.size()) {
+            Set<UUID> foundIds = orders.stream().map(OrderProjection::getId).collect(Collectors.toSet());
+            archivedOrders = orderRepository.findProjectionsByIds(
+                    pageIds.stream().filter(id -> !foundIds.contains(id)).toList(), OrderField.ALL, true);
+        }
+        Map<UUID, OrderResponse> orderResponses = toResponses.apply(orders, archivedOrders).stream()
+                .collect(Collectors.toMap(OrderResponse::getId, Function.identity()));
+        List<OrderResponse> page = pageIds.stream().map(orderResponses::get).filter(Objects::nonNull).toList();
+
+        String nextCursor = null;
+        if (hasNext && !page.isEmpty()) {
+            OrderResponse last = page.getLast();
+            nextCursor = new OrderCursor(last.getCreationDate(), last.getId()).encode();
+        }
+
+        return new OrderPageResponse(page, nextCursor);
+    }
+
+    private OrderResponse toResponse(Order order) {
+        OrderResponse orderResponse = mapper.toResponse(order);
+        orderResponse.setTotal(orderItemRepository.findTotalByOrderId(order.getId(), order.getCreationDate()));
+
+        return orderResponse;
+    }
+
+    private List<OrderResponse> createOrderResponses(List<OrderProjection> orders,
+                                                     List<OrderProjection> archivedOrders,
+                                                     Set<OrderField> fields, String tokenHeader) {
+        List<UUID> userIds = Stream.concat(orders.stream(), archivedOrders.stream())
+                .map(OrderProjection::getUserId).distinct().toList();
+        Map<UUID, UserInfo> users = fields.contains(OrderField.USER_INFO) && !userIds.isEmpty()
+                ? findUsers(userIds, tokenHeader) : Map.of();
+
+        return createOrderResponses(orders, archivedOrders, fields, users::get);
+    }
+
+    private List<OrderResponse> createOrderResponses(List<OrderProjection> orders,
+                                                     List<OrderProjection> archivedOrders,
+                                                     Set<OrderField> fields, Function<UUID, UserInfo> users) {
+        List<UUID> orderIds = orders.stream().map(OrderProjection::getId).toList();
+        List<UUID> archivedOrderIds = archivedOrders.stream().map(OrderProjection::getId).toList();
+        Map<UUID, List<OrderItemResponse>> orderItems = Map.of();
+        if (fields.contains(OrderField.ORDER_ITEMS)) {
+            List<OrderItemResponse> items = new ArrayList<>();
+            items.addAll(bulkLookupExecutor.fetch(orderIds,
+                    chunk -> orderItemRepository.findResponsesByOrderIds(chunk.toArray(UUID[]::new))));
+            items.addAll(bulkLookupExecutor.fetch(archivedOrderIds,
+                    chunk -> archivedOrderItemRepository.findResponsesByOrderIds(chunk.toArray(UUID[]::new))));
+            orderItems = items.stream().collect(Collectors.groupingBy(OrderItemResponse::getOrderId));
+        }
+        Map<UUID, Double> totals = Map.of();
+        if (fields.contains(OrderField.TOTAL)) {
+            totals = Stream.concat(
+                    bulkLookupExecutor.fetch(orderIds,
+                            chunk -> orderRepository.findTotalsByIds(chunk.toArray(UUID[]::new))).stream(),
+                    bulkLookupExecutor.fetch(archivedOrderIds,
+                            chunk -> archivedOrderItemRepository.findTotalsByOrderIds(chunk.toArray(UUID[]::new)))
+                            .stream())
+                    .collect(Collectors.toMap(OrderTotalResponse::getOrderId, OrderTotalResponse::getTotal));
+        }
+
+        List<OrderResponse> orderResponses = new ArrayList<>(orders.size() + archivedOrders.size());
+        for (OrderProjection projection : Stream.concat(orders.stream(), archivedOrders.stream()).toList()) {
+            OrderResponse orderResponse = mapper.toResponse(projection);
+            if (fields.contains(OrderField.ORDER_ITEMS)) {
+                orderResponse.setOrderItems(orderItems.getOrDefault(projection.getId(), List.of()));
+            }
+            if (fields.contains(OrderField.TOTAL)) {
+                orderResponse.setTotal(totals.getOrDefault(projection.getId(), 0.0));
+            }
+            if (fields.contains(OrderField.USER_INFO)) {
+                orderResponse.setUserInfo(users.apply(projection.getUserId()));
+            }
+            orderResponses.add(orderResponse);
+        }
+
+        return orderResponses;
     }
 
-    private List<OrderResponse> createOrderResponses(List<Order> orders, String tokenHeader) {
-        List<UUID> userIds = orders.stream().map(Order::getUserId).distinct().toList();
+    private Map<UUID, UserInfo> findUsers(List<UUID> userIds, String tokenHeader) {
         List<UserInfo> usersInfo = userService.getUserInfoByIds(getTokenFromHeader(tokenHeader), userIds);
         if (usersInfo == null) {
             throw new UserNotFoundException("User not found");
         }
 
-        Map<UUID, UserInfo> users = usersInfo.stream()
-                .collect(Collectors.toMap(UserInfo::getId, Function.identity()));
+        return usersInfo.stream().collect(Collectors.toMap(UserInfo::getId, Function.identity()));
+    }
+
+    public UserInfo findUserByEmail(String email, String tokenHeader) {
+        UserInfo userInfo = userService.getUserInfoByEmail(getTokenFromHeader(tokenHeader), email);
+        if (userInfo == null) {
+            throw new UserNotFoundException("User not found");
+        }
 
-        return orders.stream().map(order -> {
-            OrderResponse orderResponse = mapper.toResponse(order);
-            orderResponse.setUserInfo(users.get(order.getUserId()));
-            return orderResponse;
-        }).toList();
+        return userInfo;
     }
 
     private String getTokenFromHeader(String header) {
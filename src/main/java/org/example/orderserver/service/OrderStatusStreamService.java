@@ -0,0 +1,197 @@
+package org.example.orderserver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.dto.OrderStatusEvent;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.entity.UserInfo;
+import org.example.orderserver.exception.AuthorizationException;
+import org.example.orderserver.exception.UserNotFoundException;
+import org.example.orderserver.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class OrderStatusStreamService {
+    private static final String STATUS_EVENT = "status";
+
+    private final OrderRepository orderRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter dispatchedCounter;
+    private final Timer fanOutTimer;
+
+    public OrderStatusStreamService(OrderRepository orderRepository, UserService userService,
+                                    ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                    @Value("${orders.stream.timeout:30m}") Duration timeout) {
+        this.orderRepository = orderRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+
+        meterRegistry.gauge("orders.stream.connections", connections);
+        dispatchedCounter = meterRegistry.counter("orders.stream.events.dispatched");
+        fanOutTimer = meterRegistry.timer("orders.stream.fanout.latency");
+    }
+
+    public SseEmitter subscribe(String email, String tokenHeader) {
+        UserInfo userInfo = userService.getUserInfoByEmail(getTokenFromHeader(tokenHeader), email);
+        if (userInfo == null) {
+            throw new UserNotFoundException("User not found");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(emitter);
+        subscriptions.computeIfAbsent(userInfo.getId(), id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        connections.incrementAndGet();
+
+        Runnable remove = () -> unsubscribe(userInfo.getId(), subscription);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        return emitter;
+    }
+
+    public void publish(Order order, OrderStatus previousStatus) {
+        if (previousStatus == order.getStatus()) {
+            return;
+        }
+
+        orderRepository.notifyStatusChanged(write(createEvent(order.getId(), order.getUserId(),
+                previousStatus, order.getStatus())));
+    }
+
+    public void publishAll(List<OrderStatusEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        orderRepository.notifyStatusesChanged(events.stream().map(this::write).toArray(String[]::new));
+    }
+
+    public OrderStatusEvent createEvent(UUID orderId, UUID userId, OrderStatus previousStatus, OrderStatus status) {
+        OrderStatusEvent event = new OrderStatusEvent();
+        event.setOrderId(orderId);
+        event.setUserId(userId);
+        event.setStatus(status);
+        event.setPreviousStatus(previousStatus);
+        event.setChangedAt(Instant.now());
+
+        return event;
+    }
+
+    public void dispatch(String payload) {
+        OrderStatusEvent event;
+        try {
+            event = objectMapper.readValue(payload, OrderStatusEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed order status notification: {}", payload, e);
+            return;
+        }
+
+        Set<Subscription> userSubscriptions = subscriptions.get(event.getUserId());
+        if (userSubscriptions == null) {
+            return;
+        }
+
+        for (Subscription subscription : userSubscriptions) {
+            subscription.send(SseEmitter.event().name(STATUS_EVENT).id(String.valueOf(event.getOrderId()))
+                    .data(event), () -> {
+                dispatchedCounter.increment();
+                fanOutTimer.record(Duration.between(event.getChangedAt(), Instant.now()));
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(
+                subscription -> subscription.send(SseEmitter.event().comment("heartbeat"), () -> { })));
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(
+                subscription -> subscription.emitter().complete()));
+    }
+
+    private void unsubscribe(UUID userId, Subscription subscription) {
+        subscriptions.computeIfPresent(userId, (id, userSubscriptions) -> {
+            if (userSubscriptions.remove(subscription)) {
+                connections.decrementAndGet();
+                subscription.close();
+            }
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    private String write(OrderStatusEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order status event", e);
+        }
+    }
+
+    private String getTokenFromHeader(String header) {
+        if (header != null && header.startsWith("Bearer ")) return header.substring(7);
+        else throw new AuthorizationException("Invalid <Authorization> header");
+    }
+
+    private record Subscription(SseEmitter emitter, ExecutorService sender) {
+
+        Subscription(SseEmitter emitter) {
+            this(emitter, Executors.newSingleThreadExecutor(Thread.ofVirtual().name("order-status-sse").factory()));
+        }
+
+        void send(SseEmitter.SseEventBuilder event, Runnable onSent) {
+            try {
+                sender.execute(() -> {
+                    try {
+                        emitter.send(event);
+                        onSent.run();
+                    } catch (IOException | IllegalStateException e) {
+                        emitter.completeWithError(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("Subscription already closed", e);
+            }
+        }
+
+        void close() {
+            sender.shutdown();
+        }
+    }
+}
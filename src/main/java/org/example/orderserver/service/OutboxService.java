@@ -0,0 +1,140 @@
+package org.example.orderserver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.example.orderserver.dto.OrderEventPayload;
+import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderStatusTransition;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.entity.OutboxEvent;
+import org.example.orderserver.entity.OutboxEventType;
+import org.example.orderserver.repository.OutboxEventRepository;
+import org.springframework.stereotype.Service;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(Transactional.TxType.MANDATORY)
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public void orderCreated(Order order) {
+        OrderEventPayload payload = new OrderEventPayload();
+        payload.setOrderId(order.getId());
+        payload.setUserId(order.getUserId());
+        payload.setStatus(order.getStatus().name());
+        payload.setCreationDate(order.getCreationDate());
+
+        publish(OutboxEventType.ORDER_CREATED, order.getId(), payload);
+    }
+
+    public void orderStatusChanged(UUID orderId, UUID userId, OrderStatus previousStatus, OrderStatus status) {
+        if (previousStatus == status) {
+            return;
+        }
+
+        OrderEventPayload payload = new OrderEventPayload();
+        payload.setOrderId(orderId);
+        payload.setUserId(userId);
+        payload.setPreviousStatus(previousStatus.name());
+        payload.setStatus(status.name());
+
+        publish(OutboxEventType.ORDER_STATUS_CHANGED, orderId, payload);
+    }
+
+    public void ordersStatusChanged(List<OrderStatusTransition> transitions, OrderStatus status) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+
+        UUID[] aggregateIds = new UUID[transitions.size()];
+        String[] payloads = new String[transitions.size()];
+        for (int i = 0; i < transitions.size(); i++) {
+            OrderStatusTransition transition = transitions.get(i);
+
+            OrderEventPayload payload = new OrderEventPayload();
+            payload.setOrderId(transition.getOrderId());
+            payload.setUserId(transition.getUserId());
+            payload.setPreviousStatus(transition.getPreviousStatus());
+            payload.setStatus(status.name());
+
+            aggregateIds[i] = transition.getOrderId();
+            payloads[i] = write(payload);
+        }
+
+        outboxEventRepository.insertAll(OutboxEventType.ORDER_STATUS_CHANGED.name(), aggregateIds, payloads);
+    }
+
+    public void orderDeleted(UUID orderId) {
+        OrderEventPayload payload = new OrderEventPayload();
+        payload.setOrderId(orderId);
+
+        publish(OutboxEventType.ORDER_DELETED, orderId, payload);
+    }
+
+    public void orderItemChanged(OutboxEventType eventType, OrderItemResponse orderItem) {
+        OrderEventPayload payload = new OrderEventPayload();
+        payload.setOrderId(orderItem.getOrderId());
+        payload.setOrderItemId(orderItem.getId());
+        payload.setItemId(orderItem.getItemId());
+        payload.setQuantity(orderItem.getQuantity());
+        payload.setPrice(orderItem.getPrice());
+
+        publish(eventType, orderItem.getOrderId(), payload);
+    }
+
+    public void orderItemDeleted(UUID orderId, UUID orderItemId) {
+        OrderEventPayload payload = new OrderEventPayload();
+        payload.setOrderId(orderId);
+        payload.setOrderItemId(orderItemId);
+
+        publish(OutboxEventType.ORDER_ITEM_DELETED, orderId, payload);
+    }
+
+    public void orderItemsDeleted(List<OrderItemResponse> orderItems) {
+        if (orderItems.isEmpty()) {
+            return;
+        }
+
+        UUID[] aggregateIds = new UUID[orderItems.size()];
+        String[] payloads = new String[orderItems.size()];
+        for (int i = 0; i < orderItems.size(); i++) {
+            OrderItemResponse orderItem = orderItems.get(i);
+
+            OrderEventPayload payload = new OrderEventPayload();
+            payload.setOrderId(orderItem.getOrderId());
+            payload.setOrderItemId(orderItem.getId());
+
+            aggregateIds[i] = orderItem.getOrderId();
+            payloads[i] = write(payload);
+        }
+
+        outboxEventRepository.insertAll(OutboxEventType.ORDER_ITEM_DELETED.name(), aggregateIds, payloads);
+    }
+
+    private void publish(OutboxEventType eventType, UUID aggregateId, OrderEventPayload payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setAggregateId(aggregateId);
+        event.setCreatedAt(OffsetDateTime.now());
+        event.setNextAttemptAt(event.getCreatedAt());
+
+        event.setPayload(write(payload));
+
+        outboxEventRepository.save(event);
+    }
+
+    private String write(OrderEventPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event payload", e);
+        }
+    }
+}
@@ -1,42 +1,95 @@
 package org.example.orderserver.service;
 
-import lombok.RequiredArgsConstructor;
 import org.example.orderserver.entity.UserInfo;
 import org.example.orderserver.exception.AuthorizationException;
 import org.example.orderserver.exception.UserNotFoundException;
+import org.example.orderserver.jfr.UserServiceCallEvent;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class UserService {
     private final WebClient webClient;
+    private final int batchSize;
+    private final int concurrency;
+
+    public UserService(WebClient webClient,
+                       @Value("${user-service.batch-size:500}") int batchSize,
+                       @Value("${user-service.batch-concurrency:4}") int concurrency) {
+        this.webClient = webClient;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+    }
 
     public UserInfo getUserInfoByEmail(final String token, final String email) {
-        return webClient
-                .get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/users/email/")
-                        .pathSegment(email)
-                        .build())
-                .headers(headers -> headers.setBearerAuth(token))
-                .retrieve()
-                .onStatus(status -> status == HttpStatus.NOT_FOUND,
-                        e -> Mono.error(new UserNotFoundException("User not found")))
-                .onStatus(status -> status == HttpStatus.UNAUTHORIZED,
-                        e -> Mono.error(new AuthorizationException("Incorrect token")))
-                .onStatus(status -> status == HttpStatus.INTERNAL_SERVER_ERROR,
-                        e -> Mono.error(new RuntimeException("User Service unavailable")))
-                .bodyToMono(UserInfo.class)
-                .block();
+        UserServiceCallEvent event = new UserServiceCallEvent();
+        event.operation = "getUserInfoByEmail";
+        event.requestedCount = 1;
+        event.begin();
+
+        try {
+            UserInfo userInfo = webClient
+                    .get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/users/email/")
+                            .pathSegment(email)
+                            .build())
+                    .headers(headers -> headers.setBearerAuth(token))
+                    .retrieve()
+                    .onStatus(status -> status == HttpStatus.NOT_FOUND,
+                            e -> Mono.error(new UserNotFoundException("User not found")))
+                    .onStatus(status -> status == HttpStatus.UNAUTHORIZED,
+                            e -> Mono.error(new AuthorizationException("Incorrect token")))
+                    .onStatus(status -> status == HttpStatus.INTERNAL_SERVER_ERROR,
+                            e -> Mono.error(new RuntimeException("User Service unavailable")))
+                    .bodyToMono(UserInfo.class)
+                    .block();
+            event.success = true;
+
+            return userInfo;
+        } finally {
+            event.commit();
+        }
     }
 
     public List<UserInfo> getUserInfoByIds(String token, List<UUID> ids) {
+        UserServiceCallEvent event = new UserServiceCallEvent();
+        event.operation = "getUserInfoByIds";
+        event.requestedCount = ids.size();
+        event.begin();
+
+        try {
+            List<UserInfo> usersInfo;
+            if (ids.size() <= batchSize) {
+                usersInfo = requestUserInfoByIds(token, ids).block();
+            } else {
+                List<List<UUID>> batches = new ArrayList<>();
+                for (int i = 0; i < ids.size(); i += batchSize) {
+                    batches.add(ids.subList(i, Math.min(i + batchSize, ids.size())));
+                }
+                usersInfo = Flux.fromIterable(batches)
+                        .flatMapSequential(batch -> requestUserInfoByIds(token, batch), concurrency)
+                        .flatMapIterable(batchUsersInfo -> batchUsersInfo)
+                        .collectList()
+                        .block();
+            }
+            event.success = true;
+
+            return usersInfo;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private Mono<List<UserInfo>> requestUserInfoByIds(String token, List<UUID> ids) {
         return webClient
                 .post()
                 .uri("/users/ids")
@@ -47,7 +100,6 @@ public class UserService {
                         e -> Mono.error(new AuthorizationException("Incorrect token")))
                 .onStatus(status -> status == HttpStatus.INTERNAL_SERVER_ERROR,
                         e -> Mono.error(new RuntimeException("User Service unavailable")))
-                .bodyToMono(new ParameterizedTypeReference<List<UserInfo>>() {})
-                .block();
+                .bodyToMono(new ParameterizedTypeReference<List<UserInfo>>() {});
     }
 }
@@ -0,0 +1,90 @@
+package org.example.orderserver.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.service.OrderStatusStreamService;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.stream.listener.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderStatusListener implements SmartLifecycle {
+    public static final String CHANNEL = "order_status_changes";
+
+    private static final int POLL_TIMEOUT = 1000;
+    private static final long RECONNECT_DELAY = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final OrderStatusStreamService orderStatusStreamService;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public OrderStatusListener(DataSourceProperties dataSourceProperties,
+                               OrderStatusStreamService orderStatusStreamService) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.orderStatusStreamService = orderStatusStreamService;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("order-status-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + CHANNEL);
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT);
+                    if (notifications == null) {
+                        continue;
+                    }
+
+                    for (PGNotification notification : notifications) {
+                        orderStatusStreamService.dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+
+                log.warn("Order status listener connection lost, reconnecting in {} ms", RECONNECT_DELAY, e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
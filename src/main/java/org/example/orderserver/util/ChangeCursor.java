@@ -0,0 +1,40 @@
+package org.example.orderserver.util;
+
+import org.example.orderserver.exception.InconsistentDataException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record ChangeCursor(long changeXid, long changeSeq) {
+    private static final String PREFIX = "c";
+    private static final String SEPARATOR = ".";
+
+    public String encode() {
+        String value = PREFIX + changeXid + SEPARATOR + changeSeq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+
+            String position = value.substring(PREFIX.length());
+            int separator = position.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException();
+            }
+
+            long changeXid = Long.parseLong(position.substring(0, separator));
+            long changeSeq = Long.parseLong(position.substring(separator + 1));
+            if (changeXid < 0 || changeSeq < 0) {
+                throw new IllegalArgumentException();
+            }
+
+            return new ChangeCursor(changeXid, changeSeq);
+        } catch (RuntimeException e) {
+            throw new InconsistentDataException("Invalid cursor");
+        }
+    }
+}
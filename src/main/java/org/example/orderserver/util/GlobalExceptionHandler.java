@@ -2,6 +2,7 @@ package org.example.orderserver.util;
 
 import org.example.orderserver.exception.AuthorizationException;
 import org.example.orderserver.exception.ErrorResponse;
+import org.example.orderserver.exception.IdempotencyKeyConflictException;
 import org.example.orderserver.exception.InconsistentDataException;
 import org.example.orderserver.exception.ItemNotFoundException;
 import org.example.orderserver.exception.OrderItemNotFoundException;
@@ -51,6 +52,14 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflictException(IdempotencyKeyConflictException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "Idempotency key conflict", ex.getMessage());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ExceptionHandler(AuthorizationException.class)
     public ResponseEntity<ErrorResponse> handleAuthorizationException(AuthorizationException ex) {
         ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(),
@@ -0,0 +1,28 @@
+package org.example.orderserver.util;
+
+import org.example.orderserver.exception.InconsistentDataException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+public record OrderCursor(LocalDate creationDate, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String value = creationDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+
+            return new OrderCursor(LocalDate.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InconsistentDataException("Invalid cursor");
+        }
+    }
+}
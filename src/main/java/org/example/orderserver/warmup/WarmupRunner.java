@@ -0,0 +1,212 @@
+package org.example.orderserver.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.dto.ItemResponse;
+import org.example.orderserver.dto.OrderItemRequest;
+import org.example.orderserver.dto.OrderRequest;
+import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.entity.Item;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderItem;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.entity.UserInfo;
+import org.example.orderserver.mapper.ItemMapper;
+import org.example.orderserver.mapper.OrderMapper;
+import org.example.orderserver.repository.DailyItemSalesRepository;
+import org.example.orderserver.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs before the application reports readiness, so the first requests hit warm pools, caches and JIT code.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+    private static final Duration USER_SERVICE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<HikariDataSource> dataSources;
+    private final WebClient webClient;
+    private final DailyItemSalesRepository dailyItemSalesRepository;
+    private final ItemRepository itemRepository;
+    private final OrderMapper orderMapper;
+    private final ItemMapper itemMapper;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int iterations;
+    private final int userServiceConnections;
+    private final int hotItems;
+    private final Duration hotItemsWindow;
+
+    public WarmupRunner(List<HikariDataSource> dataSources, WebClient webClient,
+                        DailyItemSalesRepository dailyItemSalesRepository, ItemRepository itemRepository,
+                        OrderMapper orderMapper, ItemMapper itemMapper, ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${warmup.iterations:200}") int iterations,
+                        @Value("${warmup.user-service-connections:4}") int userServiceConnections,
+                        @Value("${warmup.hot-items:100}") int hotItems,
+                        @Value("${warmup.hot-items-window:7d}") Duration hotItemsWindow) {
+        this.dataSources = dataSources;
+        this.webClient = webClient;
+        this.dailyItemSalesRepository = dailyItemSalesRepository;
+        this.itemRepository = itemRepository;
+        this.orderMapper = orderMapper;
+        this.itemMapper = itemMapper;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.iterations = iterations;
+        this.userServiceConnections = userServiceConnections;
+        this.hotItems = hotItems;
+        this.hotItemsWindow = hotItemsWindow;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        stage("connection-pools", this::fillConnectionPools);
+        stage("user-service", this::openUserServiceConnections);
+        stage("hot-items", this::preloadHotItems);
+        stage("serialization", this::exerciseSerialization);
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        timer("total").record(duration);
+        log.info("Warm-up finished in {} ms", duration.toMillis());
+    }
+
+    void fillConnectionPools() throws SQLException {
+        for (HikariDataSource dataSource : dataSources) {
+            List<Connection> connections = new ArrayList<>();
+            try {
+                do {
+                    Connection connection = dataSource.getConnection();
+                    connections.add(connection);
+                    connection.isValid(1);
+                } while (connections.size() < dataSource.getMinimumIdle());
+            } finally {
+                for (Connection connection : connections) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    void openUserServiceConnections() {
+        Flux.range(0, userServiceConnections)
+                .flatMap(i -> webClient.head()
+                        .uri("/users")
+                        .exchangeToMono(response -> response.releaseBody())
+                        .onErrorComplete(), userServiceConnections)
+                .then()
+                .block(USER_SERVICE_TIMEOUT);
+    }
+
+    void preloadHotItems() {
+        List<UUID> itemIds = dailyItemSalesRepository.findTopItemIds(
+                LocalDate.now().minusDays(hotItemsWindow.toDays()), hotItems);
+        if (!itemIds.isEmpty()) {
+            itemRepository.findAllById(itemIds);
+        }
+    }
+
+    void exerciseSerialization() throws IOException {
+        OrderRequest orderRequest = syntheticOrderRequest();
+        Order order = syntheticOrder();
+        UserInfo userInfo = syntheticUserInfo();
+
+        for (int i = 0; i < iterations; i++) {
+            OrderRequest parsedRequest = objectMapper.readValue(
+                    objectMapper.writeValueAsBytes(orderRequest), OrderRequest.class);
+            orderMapper.toEntity(parsedRequest);
+
+            OrderResponse orderResponse = orderMapper.toResponse(order);
+            orderResponse.setUserInfo(userInfo);
+            objectMapper.readValue(objectMapper.writeValueAsBytes(orderResponse), OrderResponse.class);
+
+            ItemResponse itemResponse = itemMapper.toResponse(order.getOrderItems().getFirst().getItem());
+            objectMapper.readValue(objectMapper.writeValueAsBytes(itemResponse), ItemResponse.class);
+        }
+    }
+
+    private void stage(String name, WarmupStage stage) {
+        long start = System.nanoTime();
+        try {
+            stage.run();
+        } catch (Exception e) {
+            log.warn("Warm-up stage {} failed", name, e);
+        } finally {
+            timer(name).record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private Timer timer(String stage) {
+        return meterRegistry.timer("warmup.duration", "stage", stage);
+    }
+
+    private OrderRequest syntheticOrderRequest() {
+        OrderItemRequest orderItemRequest = new OrderItemRequest();
+        orderItemRequest.setItemId(UUID.randomUUID());
+        orderItemRequest.setQuantity(1L);
+
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setStatus(OrderStatus.CREATED);
+        orderRequest.setUserEmail("warmup@example.org");
+        orderRequest.setOrderItems(List.of(orderItemRequest));
+        return orderRequest;
+    }
+
+    private Order syntheticOrder() {
+        Item item = new Item();
+        item.setId(UUID.randomUUID());
+        item.setName("warmup");
+        item.setPrice(1f);
+
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setUserId(UUID.randomUUID());
+        order.setStatus(OrderStatus.CREATED);
+        order.setCreationDate(LocalDate.now());
+
+        OrderItem orderItem = new OrderItem();
+        orderItem.setId(UUID.randomUUID());
+        orderItem.setOrder(order);
+        orderItem.setItem(item);
+        orderItem.setQuantity(1L);
+        orderItem.setPrice(item.getPrice());
+        order.setOrderItems(List.of(orderItem));
+        return order;
+    }
+
+    private UserInfo syntheticUserInfo() {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setId(UUID.randomUUID());
+        userInfo.setName("Warm");
+        userInfo.setSurname("Up");
+        userInfo.setBirthDate(LocalDate.of(2000, 1, 1));
+        userInfo.setEmail("warmup@example.org");
+        return userInfo;
+    }
+
+    @FunctionalInterface
+    interface WarmupStage {
+        void run() throws Exception;
+    }
+}
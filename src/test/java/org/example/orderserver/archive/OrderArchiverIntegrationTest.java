@@ -0,0 +1,260 @@
+package org.example.orderserver.archive;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderPageResponse;
+import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.dto.OrderSearchRequest;
+import org.example.orderserver.entity.ArchivedOrder;
+import org.example.orderserver.entity.Item;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderItem;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.repository.ArchivedOrderRepository;
+import org.example.orderserver.repository.ItemRepository;
+import org.example.orderserver.repository.OrderRepository;
+import org.example.orderserver.service.DailyRollupService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderArchiverIntegrationTest {
+    private static final String USER_ID = "d6d9d8f7-5d9f-4c99-9e6b-2d7e9d7f7c9b";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("orders.archive.age", () -> "0s");
+        registry.add("orders.archive.batch-size", () -> "2");
+        registry.add("orders.archive.batch-pause", () -> "0s");
+        registry.add("orders.archive.poll-interval", () -> "1h");
+    }
+
+    private static WireMockServer wireMock;
+
+    @BeforeAll
+    static void startServer() {
+        wireMock = new WireMockServer(8080);
+        wireMock.start();
+        WireMock.configureFor("localhost", 8080);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        wireMock.stop();
+        postgres.stop();
+    }
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Item item;
+
+    @BeforeEach
+    void initialize() {
+        Item newItem = new Item();
+        newItem.setName("test");
+        newItem.setPrice(10f);
+        item = itemRepository.save(newItem);
+
+        wireMock.stubFor(get(urlPathMatching("/v1/users/email/.*"))
+                .willReturn(aResponse()
+                        .withBody("""
+                                {"id": "%s", "name": "Test", "surname": "Test",
+                                 "birthDate": "2020-10-10", "email": "test@gmail.com"}""".formatted(USER_ID))
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(HttpStatus.OK.value())));
+    }
+
+    Order saveOrder(OrderStatus status) {
+        Order order = new Order();
+        order.setStatus(status);
+        order.setUserId(UUID.fromString(USER_ID));
+        order.setCreationDate(LocalDate.now());
+
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrder(order);
+        orderItem.setItem(item);
+        orderItem.setQuantity(2L);
+        orderItem.setPrice(item.getPrice());
+        order.setOrderItems(new ArrayList<>(List.of(orderItem)));
+
+        return orderRepository.save(order);
+    }
+
+    HttpEntity<Void> initEmptyRequest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        return new HttpEntity<>(headers);
+    }
+
+    @Test
+    void testArchiveMovesTerminalOrders() {
+        List<UUID> terminalIds = List.of(saveOrder(OrderStatus.DELIVERED).getId(),
+                saveOrder(OrderStatus.TERMINATED).getId(), saveOrder(OrderStatus.TAKEN_AWAY).getId());
+        UUID activeId = saveOrder(OrderStatus.IN_PROGRESS).getId();
+        double archived = meterRegistry.counter("orders.archive.archived").count();
+
+        orderArchiver.archive();
+
+        assertThat(orderRepository.findAllById(terminalIds)).isEmpty();
+        assertThat(orderRepository.findById(activeId)).isPresent();
+        assertThat(archivedOrderRepository.findWithItemsByIds(terminalIds))
+                .hasSize(3)
+                .allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(1));
+        assertThat(meterRegistry.counter("orders.archive.archived").count() - archived).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from order_tombstones where order_id = any(?)",
+                Long.class, (Object) terminalIds.toArray(UUID[]::new))).isZero();
+    }
+
+    @Test
+    void testReadsFallThroughToArchive() {
+        Order order = saveOrder(OrderStatus.DELIVERED);
+        UUID orderItemId = order.getOrderItems().getFirst().getId();
+
+        orderArchiver.archive();
+
+        ResponseEntity<OrderResponse> orderResponse = restTemplate.exchange(
+                "/api/v1/orders/" + order.getId() + "/test@gmail.com",
+                HttpMethod.GET, initEmptyRequest(), OrderResponse.class);
+        assertThat(orderResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(orderResponse.getBody().getStatus()).isEqualTo(OrderStatus.DELIVERED.name());
+        assertThat(orderResponse.getBody().getOrderItems()).extracting(OrderItemResponse::getId)
+                .containsExactly(orderItemId);
+        assertThat(orderResponse.getBody().getTotal()).isEqualTo(20.0);
+
+        ResponseEntity<OrderItemResponse> orderItemResponse = restTemplate.getForEntity(
+                "/api/v1/order_items/" + orderItemId, OrderItemResponse.class);
+        assertThat(orderItemResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(orderItemResponse.getBody().getOrderId()).isEqualTo(order.getId());
+    }
+
+    @Test
+    void testListingIncludesArchivedOnlyWhenRequested() {
+        UUID archivedId = saveOrder(OrderStatus.DELIVERED).getId();
+        orderArchiver.archive();
+        UUID activeId = saveOrder(OrderStatus.CREATED).getId();
+
+        ResponseEntity<OrderPageResponse> hotPage = restTemplate.exchange(
+                "/api/v1/orders/user/test@gmail.com?size=100",
+                HttpMethod.GET, initEmptyRequest(), OrderPageResponse.class);
+        ResponseEntity<OrderPageResponse> fullPage = restTemplate.exchange(
+                "/api/v1/orders/user/test@gmail.com?size=100&includeArchived=true",
+                HttpMethod.GET, initEmptyRequest(), OrderPageResponse.class);
+
+        assertThat(hotPage.getBody().getOrders()).extracting(OrderResponse::getId)
+                .contains(activeId)
+                .doesNotContain(archivedId);
+        assertThat(fullPage.getBody().getOrders()).extracting(OrderResponse::getId)
+                .contains(activeId, archivedId);
+    }
+
+    @Test
+    void testSearchPagesThroughArchivedOrders() {
+        wireMock.stubFor(post(urlPathMatching("/v1/users/ids"))
+                .willReturn(aResponse()
+                        .withBody("""
+                                [{"id": "%s", "name": "Test", "surname": "Test",
+                                  "birthDate": "2020-10-10", "email": "test@gmail.com"}]""".formatted(USER_ID))
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(HttpStatus.OK.value())));
+        List<UUID> archivedIds = List.of(saveOrder(OrderStatus.DELIVERED).getId(),
+                saveOrder(OrderStatus.DELIVERED).getId());
+        orderArchiver.archive();
+        UUID activeId = saveOrder(OrderStatus.DELIVERED).getId();
+
+        OrderSearchRequest searchRequest = new OrderSearchRequest();
+        searchRequest.setStatuses(List.of(OrderStatus.DELIVERED));
+        searchRequest.setUserId(UUID.fromString(USER_ID));
+        searchRequest.setIncludeArchived(true);
+        searchRequest.setSize(2);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+
+        List<UUID> foundIds = new ArrayList<>();
+        do {
+            ResponseEntity<OrderPageResponse> page = restTemplate.exchange("/api/v1/orders/search",
+                    HttpMethod.POST, new HttpEntity<>(searchRequest, headers), OrderPageResponse.class);
+            assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(page.getBody().getOrders()).hasSizeLessThanOrEqualTo(2);
+            page.getBody().getOrders().forEach(order -> foundIds.add(order.getId()));
+            searchRequest.setCursor(page.getBody().getNextCursor());
+        } while (searchRequest.getCursor() != null);
+
+        assertThat(foundIds).doesNotHaveDuplicates().contains(activeId).containsAll(archivedIds);
+    }
+
+    @Test
+    void testRebuildCountsArchivedOrders() {
+        saveOrder(OrderStatus.DELIVERED);
+        orderArchiver.archive();
+        LocalDate today = LocalDate.now();
+
+        dailyRollupService.rebuild(today, today);
+
+        long archivedDelivered = archivedOrderRepository.findByStatuses(List.of(OrderStatus.DELIVERED)).stream()
+                .map(ArchivedOrder::getCreationDate)
+                .filter(today::equals)
+                .count();
+        assertThat(jdbcTemplate.queryForObject(
+                "select order_count from daily_order_stats where day = ? and status = 'DELIVERED'",
+                Long.class, today)).isEqualTo(archivedDelivered);
+        assertThat(jdbcTemplate.queryForObject(
+                "select quantity from daily_item_sales where day = ? and item_id = ?",
+                Long.class, today, item.getId())).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.orderserver.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.entity.UserInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class BinaryFormatBenchmarkTest {
+    private static final int ORDERS = 1000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int ROUNDS = 20;
+    private static final TypeReference<List<OrderResponse>> ORDER_LIST = new TypeReference<>() {};
+
+    private static final List<OrderResponse> ORDER_RESPONSES = IntStream.range(0, ORDERS)
+            .mapToObj(BinaryFormatBenchmarkTest::orderResponse)
+            .toList();
+    private static final byte[] JSON_PAYLOAD = encode(mapper(new JsonFactory()));
+
+    static Stream<Arguments> binaryFormats() {
+        return Stream.of(
+                Arguments.of("cbor", new CBORFactory()),
+                Arguments.of("smile", new SmileFactory()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("binaryFormats")
+    void testBinaryFormatIsSmallerThanJson(String format, JsonFactory factory) throws IOException {
+        ObjectMapper jsonMapper = mapper(new JsonFactory());
+        ObjectMapper binaryMapper = mapper(factory);
+
+        byte[] payload = encode(binaryMapper);
+        assertThat(binaryMapper.readValue(payload, ORDER_LIST)).isEqualTo(ORDER_RESPONSES);
+        assertThat(payload.length).isLessThan(JSON_PAYLOAD.length);
+
+        long jsonEncode = timeEncode(jsonMapper);
+        long jsonDecode = timeDecode(jsonMapper, JSON_PAYLOAD);
+        long binaryEncode = timeEncode(binaryMapper);
+        long binaryDecode = timeDecode(binaryMapper, payload);
+
+        log.info("{} orders: json {} bytes, encode {} us, decode {} us; {} {} bytes ({}%), encode {} us, decode {} us",
+                ORDERS, JSON_PAYLOAD.length, jsonEncode / 1000, jsonDecode / 1000,
+                format, payload.length, payload.length * 100 / JSON_PAYLOAD.length,
+                binaryEncode / 1000, binaryDecode / 1000);
+    }
+
+    private static long timeEncode(ObjectMapper mapper) {
+        for (int i = 0; i < ROUNDS; i++) {
+            encode(mapper);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            encode(mapper);
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+
+    private static long timeDecode(ObjectMapper mapper, byte[] payload) throws IOException {
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.readValue(payload, ORDER_LIST);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.readValue(payload, ORDER_LIST);
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+
+    private static byte[] encode(ObjectMapper mapper) {
+        try {
+            return mapper.writeValueAsBytes(ORDER_RESPONSES);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return new Jackson2ObjectMapperBuilder()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static OrderResponse orderResponse(int index) {
+        UUID orderId = UUID.randomUUID();
+
+        UserInfo userInfo = new UserInfo();
+        userInfo.setId(UUID.randomUUID());
+        userInfo.setName("Name" + index);
+        userInfo.setSurname("Surname" + index);
+        userInfo.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(index));
+        userInfo.setEmail("user" + index + "@example.org");
+
+        List<OrderItemResponse> orderItems = IntStream.range(0, ITEMS_PER_ORDER).mapToObj(i -> {
+            OrderItemResponse orderItem = new OrderItemResponse();
+            orderItem.setId(UUID.randomUUID());
+            orderItem.setOrderId(orderId);
+            orderItem.setItemId(UUID.randomUUID());
+            orderItem.setQuantity((long) i + 1);
+            orderItem.setPrice(9.99f + i);
+            orderItem.setTotal(orderItem.getQuantity() * (double) orderItem.getPrice());
+            return orderItem;
+        }).toList();
+
+        OrderResponse orderResponse = new OrderResponse();
+        orderResponse.setId(orderId);
+        orderResponse.setStatus("CREATED");
+        orderResponse.setCreationDate(LocalDate.of(2025, 1, 1).plusDays(index % 365));
+        orderResponse.setOrderItems(orderItems);
+        orderResponse.setTotal(orderItems.stream().mapToDouble(OrderItemResponse::getTotal).sum());
+        orderResponse.setUserInfo(userInfo);
+        return orderResponse;
+    }
+}
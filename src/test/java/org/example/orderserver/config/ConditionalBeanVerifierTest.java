@@ -0,0 +1,72 @@
+package org.example.orderserver.config;
+
+import org.example.orderserver.archive.OrderArchiver;
+import org.example.orderserver.outbox.LoggingOutboxSink;
+import org.example.orderserver.outbox.OutboxRelay;
+import org.example.orderserver.processing.OrderProcessingScheduler;
+import org.example.orderserver.stream.OrderStatusListener;
+import org.example.orderserver.warmup.WarmupRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.mock;
+
+class ConditionalBeanVerifierTest {
+    private final MockEnvironment environment = new MockEnvironment();
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    private final ConditionalBeanVerifier verifier = new ConditionalBeanVerifier(environment, beanFactory);
+
+    @BeforeEach
+    void initialize() {
+        beanFactory.registerSingleton("orderArchiver", mock(OrderArchiver.class));
+        beanFactory.registerSingleton("orderStatusListener", mock(OrderStatusListener.class));
+        beanFactory.registerSingleton("outboxRelay", mock(OutboxRelay.class));
+        beanFactory.registerSingleton("loggingOutboxSink", mock(LoggingOutboxSink.class));
+        beanFactory.registerSingleton("warmupRunner", mock(WarmupRunner.class));
+    }
+
+    @Test
+    void testDefaultsMatchRegisteredBeans() {
+        assertDoesNotThrow(verifier::afterSingletonsInstantiated);
+    }
+
+    @Test
+    void testEnabledToggleWithoutBeanFails() {
+        environment.setProperty("orders.processing.enabled", "true");
+
+        assertThatThrownBy(verifier::afterSingletonsInstantiated)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("orders.processing.enabled")
+                .hasMessageContaining(OrderProcessingScheduler.class.getSimpleName());
+    }
+
+    @Test
+    void testReplicaUrlWithoutRoutingFails() {
+        environment.setProperty("replica.datasource.url", "jdbc:postgresql://replica:5432/database");
+
+        assertThatThrownBy(verifier::afterSingletonsInstantiated)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("replica.datasource.url");
+    }
+
+    @Test
+    void testDisabledToggleWithBeanFails() {
+        environment.setProperty("warmup.enabled", "false");
+
+        assertThatThrownBy(verifier::afterSingletonsInstantiated)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("warmup.enabled");
+    }
+
+    @Test
+    void testSinkSwitchWithoutBeanFails() {
+        environment.setProperty("outbox.sink", "webhook");
+
+        assertThatThrownBy(verifier::afterSingletonsInstantiated)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("outbox.sink");
+    }
+}
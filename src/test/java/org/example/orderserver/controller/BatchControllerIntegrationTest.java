@@ -0,0 +1,174 @@
+package org.example.orderserver.controller;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.example.orderserver.dto.BatchOperationResponse;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.repository.ItemRepository;
+import org.example.orderserver.repository.OrderItemRepository;
+import org.example.orderserver.repository.OrderRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.util.List;
+import java.util.UUID;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BatchControllerIntegrationTest {
+    private static final String BASE_URL = "/api/v1/batch";
+    private static final String USER_EMAIL = "/v1/users/email/.*";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @BeforeAll
+    static void startServer() {
+        wireMock = new WireMockServer(8080);
+        wireMock.start();
+        WireMock.configureFor("localhost", 8080);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        wireMock.stop();
+        postgres.stop();
+    }
+
+    private static WireMockServer wireMock;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @BeforeEach
+    void initialize() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+
+        wireMock.stubFor(get(urlPathMatching(USER_EMAIL))
+                .willReturn(aResponse()
+                        .withBody("""
+                                {"id": "d6d9d8f7-5d9f-4c99-9e6b-2d7e9d7f7c9b", "name": "Test", "surname": "Test",
+                                "birthDate": "2020-10-10", "email": "test@gmail.com"}""")
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(HttpStatus.OK.value())));
+    }
+
+    @Test
+    void testAtomicBatchResolvesReferences() {
+        ResponseEntity<List<BatchOperationResponse>> response = executeBatch("""
+                {"atomic": true, "operations": [
+                  {"ref": "item", "type": "CREATE_ITEM", "body": {"name": "test", "price": 10}},
+                  {"ref": "order", "type": "CREATE_ORDER",
+                   "body": {"status": "CREATED", "userEmail": "test@gmail.com",
+                            "orderItems": [{"itemId": "${item}", "quantity": 2}]}},
+                  {"type": "CREATE_ORDER_ITEM", "id": "${order}", "body": {"itemId": "${item.id}", "quantity": 3}},
+                  {"type": "TRANSITION_ORDER_STATUSES", "body": {"orderIds": ["${order}"], "status": "IN_PROGRESS"}}
+                ]}""");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(BatchOperationResponse::getOutcome)
+                .containsOnly(BatchOperationResponse.Outcome.SUCCEEDED);
+        assertThat(response.getBody().get(2).getBody().get("quantity").asLong()).isEqualTo(5L);
+
+        UUID orderId = UUID.fromString(response.getBody().get(1).getBody().get("id").asText());
+        assertThat(orderRepository.findById(orderId)).get().extracting(Order::getStatus)
+                .isEqualTo(OrderStatus.IN_PROGRESS);
+        assertThat(orderItemRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testAtomicBatchRollsBackOnFailure() {
+        ResponseEntity<List<BatchOperationResponse>> response = executeBatch("""
+                {"atomic": true, "operations": [
+                  {"ref": "item", "type": "CREATE_ITEM", "body": {"name": "test", "price": 10}},
+                  {"type": "CREATE_ORDER_ITEM", "id": "%s", "body": {"itemId": "${item}", "quantity": 3}},
+                  {"type": "DELETE_ITEM", "id": "${item}"}
+                ]}""".formatted(UUID.randomUUID()));
+
+        assertThat(response.getBody()).extracting(BatchOperationResponse::getOutcome).containsExactly(
+                BatchOperationResponse.Outcome.ROLLED_BACK,
+                BatchOperationResponse.Outcome.FAILED,
+                BatchOperationResponse.Outcome.SKIPPED);
+        assertThat(response.getBody().get(1).getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(itemRepository.count()).isZero();
+    }
+
+    @Test
+    void testIndependentBatchKeepsSucceededOperations() {
+        ResponseEntity<List<BatchOperationResponse>> response = executeBatch("""
+                {"atomic": false, "operations": [
+                  {"ref": "item", "type": "CREATE_ITEM", "body": {"name": "test", "price": 10}},
+                  {"type": "CREATE_ORDER_ITEM", "id": "%s", "body": {"itemId": "${item}", "quantity": 3}},
+                  {"type": "UPDATE_ITEM", "id": "${item}", "body": {"price": 12}}
+                ]}""".formatted(UUID.randomUUID()));
+
+        assertThat(response.getBody()).extracting(BatchOperationResponse::getOutcome).containsExactly(
+                BatchOperationResponse.Outcome.SUCCEEDED,
+                BatchOperationResponse.Outcome.FAILED,
+                BatchOperationResponse.Outcome.SUCCEEDED);
+        assertThat(itemRepository.findAll()).singleElement()
+                .satisfies(item -> assertThat(item.getPrice()).isEqualTo(12f));
+    }
+
+    @Test
+    void testBatchDuplicateRef() {
+        ResponseEntity<String> response = restTemplate.exchange(BASE_URL, HttpMethod.POST, entity("""
+                {"operations": [
+                  {"ref": "item", "type": "CREATE_ITEM", "body": {"name": "test", "price": 10}},
+                  {"ref": "item", "type": "CREATE_ITEM", "body": {"name": "test", "price": 10}}
+                ]}"""), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(itemRepository.count()).isZero();
+    }
+
+    private ResponseEntity<List<BatchOperationResponse>> executeBatch(String body) {
+        return restTemplate.exchange(BASE_URL, HttpMethod.POST, entity(body), new ParameterizedTypeReference<>() {});
+    }
+
+    private static HttpEntity<String> entity(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth("token");
+        return new HttpEntity<>(body, headers);
+    }
+}
@@ -114,6 +114,20 @@ class ItemControllerIntegrationTest {
         assertThat(response.getBody().getPrice()).isEqualTo(updatedItem.getPrice());
     }
 
+    @Test
+    void testUpdateItemKeepsOmittedFields() {
+        ItemRequest updatedItem = new ItemRequest();
+        updatedItem.setPrice(20f);
+
+        ResponseEntity<ItemResponse> response = restTemplate.exchange(
+                BASE_URL + testItem.getId(), HttpMethod.PUT, new HttpEntity<>(updatedItem), ItemResponse.class);
+
+        assertThat(response.getBody().getName()).isEqualTo("test");
+        assertThat(response.getBody().getPrice()).isEqualTo(20f);
+        assertThat(itemRepository.findById(testItem.getId())).get()
+                .satisfies(item -> assertThat(item.getPrice()).isEqualTo(20f));
+    }
+
     @Test
     void testUpdateItemNotFound() {
         HttpEntity<ItemRequest> entity = new HttpEntity<>(itemRequest);
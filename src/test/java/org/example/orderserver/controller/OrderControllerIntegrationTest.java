@@ -2,14 +2,26 @@ package org.example.orderserver.controller;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.example.orderserver.dto.OrderChangePageResponse;
+import org.example.orderserver.dto.OrderChangeResponse;
+import org.example.orderserver.dto.OrderField;
 import org.example.orderserver.dto.OrderItemRequest;
+import org.example.orderserver.dto.OrderPageResponse;
 import org.example.orderserver.dto.OrderRequest;
 import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.dto.OrderSearchRequest;
+import org.example.orderserver.dto.OrderStatusTransitionRequest;
+import org.example.orderserver.dto.OrderStatusTransitionResponse;
+import org.example.orderserver.dto.OrderTotalResponse;
 import org.example.orderserver.entity.Item;
 import org.example.orderserver.entity.Order;
 import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.entity.UserInfo;
 import org.example.orderserver.exception.ErrorResponse;
 import org.example.orderserver.repository.ItemRepository;
+import org.example.orderserver.repository.OrderItemRepository;
 import org.example.orderserver.repository.OrderRepository;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -17,22 +29,35 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -72,6 +97,9 @@ class OrderControllerIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @LocalServerPort
+    private int port;
+
     private static WireMockServer wireMock;
 
     private final String userId = "d6d9d8f7-5d9f-4c99-9e6b-2d7e9d7f7c9b";
@@ -92,6 +120,9 @@ class OrderControllerIntegrationTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
     private final OrderRequest orderRequest = new OrderRequest();
     private final OrderItemRequest orderItemRequest = new OrderItemRequest();
     private Order testOrder;
@@ -158,6 +189,13 @@ class OrderControllerIntegrationTest {
         return new HttpEntity<>(orderRequest, headers);
     }
 
+    HttpEntity<OrderRequest> initIdempotentRequest(String idempotencyKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer token");
+        headers.set("Idempotency-Key", idempotencyKey);
+        return new HttpEntity<>(orderRequest, headers);
+    }
+
     HttpEntity<Void> initEmptyRequest() {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth("token");
@@ -175,6 +213,76 @@ class OrderControllerIntegrationTest {
         assertThat(response.getBody().getUserInfo().getEmail()).isEqualTo(orderRequest.getUserEmail());
     }
 
+    @Test
+    void testCreateOrderIdempotent() {
+        initUserResponse();
+        wireMock.resetRequests();
+        HttpEntity<OrderRequest> requestEntity = initIdempotentRequest(UUID.randomUUID().toString());
+
+        ResponseEntity<OrderResponse> first = restTemplate.postForEntity(
+                "/api/v1/orders", requestEntity, OrderResponse.class);
+        ResponseEntity<OrderResponse> replay = restTemplate.postForEntity(
+                "/api/v1/orders", requestEntity, OrderResponse.class);
+
+        assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(replay.getBody().getId()).isEqualTo(first.getBody().getId());
+        assertThat(replay.getBody().getUserInfo()).isEqualTo(first.getBody().getUserInfo());
+        wireMock.verify(1, getRequestedFor(urlPathMatching(USER_EMAIL)));
+    }
+
+    @Test
+    void testCreateOrderIdempotentConcurrent() throws Exception {
+        initUserResponse();
+        HttpEntity<OrderRequest> requestEntity = initIdempotentRequest(UUID.randomUUID().toString());
+        long ordersBefore = orderRepository.count();
+
+        List<CompletableFuture<ResponseEntity<OrderResponse>>> responses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            responses.add(CompletableFuture.supplyAsync(() -> restTemplate.postForEntity(
+                    "/api/v1/orders", requestEntity, OrderResponse.class)));
+        }
+
+        List<UUID> ids = new ArrayList<>();
+        for (CompletableFuture<ResponseEntity<OrderResponse>> response : responses) {
+            ids.add(response.get(10, TimeUnit.SECONDS).getBody().getId());
+        }
+
+        assertThat(ids).containsOnly(ids.getFirst());
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+    }
+
+    @Test
+    void testCreateOrderIdempotencyKeyConflict() {
+        initUserResponse();
+        String key = UUID.randomUUID().toString();
+
+        restTemplate.postForEntity("/api/v1/orders", initIdempotentRequest(key), OrderResponse.class);
+        orderItemRequest.setQuantity(20L);
+        ResponseEntity<ErrorResponse> response = restTemplate.postForEntity(
+                "/api/v1/orders", initIdempotentRequest(key), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void testCreateOrderWithTotals() {
+        initUserResponse();
+        HttpEntity<OrderRequest> requestEntity = initRequest();
+
+        ResponseEntity<OrderResponse> response = restTemplate.postForEntity(
+                "/api/v1/orders", requestEntity, OrderResponse.class);
+
+        assertThat(response.getBody().getTotal()).isEqualTo(100.0);
+        assertThat(response.getBody().getOrderItems().getFirst().getPrice()).isEqualTo(10f);
+
+        ResponseEntity<List<OrderTotalResponse>> totals = restTemplate.exchange(
+                BASE_URL + "totals", HttpMethod.POST,
+                new HttpEntity<>(List.of(response.getBody().getId())), new ParameterizedTypeReference<>() {});
+
+        assertThat(totals.getBody().getFirst().getTotal()).isEqualTo(100.0);
+        assertThat(totals.getBody().getFirst().getQuantity()).isEqualTo(10L);
+    }
+
     @Test
     void testCreateOrderItemNotFound() {
         initUserResponse();
@@ -265,6 +373,137 @@ class OrderControllerIntegrationTest {
         assertThat(response.getBody().getFirst().getId()).isEqualTo(testOrder.getId());
     }
 
+    @Test
+    void testFindByIdsWithSparseFields() {
+        saveOrder();
+        wireMock.resetRequests();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        HttpEntity<List<UUID>> entity = new HttpEntity<>(List.of(testOrder.getId()), headers);
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/v1/orders/ids?fields=id,status",
+                HttpMethod.POST,
+                entity, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .isEqualTo("[{\"id\":\"" + testOrder.getId() + "\",\"status\":\"CREATED\"}]");
+        wireMock.verify(0, postRequestedFor(urlPathMatching(USER_IDS)));
+    }
+
+    @Test
+    void testFindByIdsKeepsNullFieldsWithoutSparseFields() {
+        saveOrder();
+        wireMock.stubFor(post(urlPathMatching(USER_IDS))
+                .willReturn(aResponse()
+                        .withBody("[]")
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(HttpStatus.OK.value())));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        HttpEntity<List<UUID>> entity = new HttpEntity<>(List.of(testOrder.getId()), headers);
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/v1/orders/ids",
+                HttpMethod.POST,
+                entity, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("\"userInfo\":null");
+    }
+
+    @Test
+    void testFindByStatusesWithItemFields() {
+        initUserResponse();
+        OrderResponse created = restTemplate.postForEntity(
+                "/api/v1/orders", initRequest(), OrderResponse.class).getBody();
+        wireMock.resetRequests();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        HttpEntity<List<OrderStatus>> entity = new HttpEntity<>(List.of(OrderStatus.CREATED), headers);
+
+        ResponseEntity<List<OrderResponse>> response = restTemplate.exchange(
+                BASE_URL + "statuses?fields=orderItems,total",
+                HttpMethod.POST,
+                entity, new ParameterizedTypeReference<>() {});
+
+        OrderResponse orderResponse = response.getBody().stream()
+                .filter(order -> order.getId().equals(created.getId()))
+                .findFirst().orElseThrow();
+        assertThat(orderResponse.getStatus()).isNull();
+        assertThat(orderResponse.getUserInfo()).isNull();
+        assertThat(orderResponse.getOrderItems()).singleElement()
+                .satisfies(orderItem -> assertThat(orderItem.getTotal()).isEqualTo(100.0));
+        assertThat(orderResponse.getTotal()).isEqualTo(100.0);
+        wireMock.verify(0, postRequestedFor(urlPathMatching(USER_IDS)));
+    }
+
+    @Test
+    void testFindByIdsWithUnknownField() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        HttpEntity<List<UUID>> entity = new HttpEntity<>(List.of(UUID.randomUUID()), headers);
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/v1/orders/ids?fields=status,secret",
+                HttpMethod.POST,
+                entity, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testFindByIdsAsCbor() throws Exception {
+        saveOrder();
+        UserInfo userInfo = JsonMapper.builder().findAndAddModules().build()
+                .readValue(userServiceResponse, UserInfo.class);
+        wireMock.stubFor(post(urlPathMatching(USER_IDS))
+                .withHeader(HttpHeaders.ACCEPT, containing(MediaType.APPLICATION_CBOR_VALUE))
+                .willReturn(aResponse()
+                        .withBody(CBORMapper.builder().findAndAddModules().build()
+                                .writeValueAsBytes(List.of(userInfo)))
+                        .withHeader("Content-Type", MediaType.APPLICATION_CBOR_VALUE)
+                        .withStatus(HttpStatus.OK.value())));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+        HttpEntity<List<UUID>> entity = new HttpEntity<>(List.of(testOrder.getId()), headers);
+
+        ResponseEntity<List<OrderResponse>> response = restTemplate.exchange(
+                "/api/v1/orders/ids",
+                HttpMethod.POST,
+                entity, new ParameterizedTypeReference<>() {});
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(response.getBody().getFirst().getId()).isEqualTo(testOrder.getId());
+        assertThat(response.getBody().getFirst().getUserInfo()).isEqualTo(userInfo);
+    }
+
+    @Test
+    void testFindByStatusesAsSmile() {
+        orderRepository.deleteAll();
+        saveOrder();
+        initUserResponses();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        headers.setAccept(List.of(new MediaType("application", "x-jackson-smile")));
+        HttpEntity<List<OrderStatus>> entity = new HttpEntity<>(List.of(OrderStatus.CREATED), headers);
+
+        ResponseEntity<List<OrderResponse>> response = restTemplate.exchange(
+                BASE_URL + "statuses",
+                HttpMethod.POST,
+                entity, new ParameterizedTypeReference<>() {});
+
+        assertThat(response.getHeaders().getContentType().getSubtype()).isEqualTo("x-jackson-smile");
+        assertThat(response.getBody().getFirst().getId()).isEqualTo(testOrder.getId());
+    }
+
     @Test
     void testFindByStatuses() {
         orderRepository.deleteAll();
@@ -285,6 +524,191 @@ class OrderControllerIntegrationTest {
         assertThat(response.getBody().getFirst().getId()).isEqualTo(testOrder.getId());
     }
 
+    @Test
+    void testFindByUser() {
+        orderRepository.deleteAll();
+        saveOrder();
+        UUID firstOrderId = testOrder.getId();
+        saveOrder();
+        initUserResponse();
+        HttpEntity<Void> entity = initEmptyRequest();
+
+        ResponseEntity<OrderPageResponse> firstPage = restTemplate.exchange(
+                BASE_URL + "user/test@gmail.com?size=1",
+                HttpMethod.GET, entity, OrderPageResponse.class);
+
+        assertThat(firstPage.getBody().getOrders()).hasSize(1);
+        assertThat(firstPage.getBody().getNextCursor()).isNotNull();
+
+        ResponseEntity<OrderPageResponse> secondPage = restTemplate.exchange(
+                BASE_URL + "user/test@gmail.com?size=1&cursor=" + firstPage.getBody().getNextCursor(),
+                HttpMethod.GET, entity, OrderPageResponse.class);
+
+        assertThat(secondPage.getBody().getOrders()).hasSize(1);
+        assertThat(secondPage.getBody().getNextCursor()).isNull();
+        assertThat(List.of(firstPage.getBody().getOrders().getFirst().getId(),
+                secondPage.getBody().getOrders().getFirst().getId()))
+                .containsExactlyInAnyOrder(firstOrderId, testOrder.getId());
+    }
+
+    @Test
+    void testSearch() {
+        orderRepository.deleteAll();
+        saveOrder();
+        initUserResponses();
+
+        OrderSearchRequest searchRequest = new OrderSearchRequest();
+        searchRequest.setStatuses(List.of(OrderStatus.CREATED));
+        searchRequest.setUserId(UUID.fromString(userId));
+        searchRequest.setCreatedFrom(LocalDate.now().minusDays(1));
+        searchRequest.setCreatedTo(LocalDate.now());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        HttpEntity<OrderSearchRequest> entity = new HttpEntity<>(searchRequest, headers);
+
+        ResponseEntity<OrderPageResponse> response = restTemplate.exchange(
+                BASE_URL + "search", HttpMethod.POST, entity, OrderPageResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getOrders().getFirst().getId()).isEqualTo(testOrder.getId());
+    }
+
+    @Test
+    void testFindChanges() {
+        saveOrder();
+        initUserResponses();
+        HttpEntity<Void> entity = initEmptyRequest();
+
+        List<OrderChangeResponse> changes = new ArrayList<>();
+        String cursor = "";
+        OrderChangePageResponse page;
+        do {
+            page = restTemplate.exchange(BASE_URL + "changes?size=50&cursor=" + cursor,
+                    HttpMethod.GET, entity, OrderChangePageResponse.class).getBody();
+            changes.addAll(page.getChanges());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertThat(changes.getLast().getOrderId()).isEqualTo(testOrder.getId());
+        assertThat(changes.getLast().isDeleted()).isFalse();
+        assertThat(changes.getLast().getOrder().getUserInfo().getId()).isEqualTo(UUID.fromString(userId));
+
+        restTemplate.exchange(BASE_URL + testOrder.getId(), HttpMethod.DELETE, null, Void.class);
+
+        ResponseEntity<OrderChangePageResponse> response = restTemplate.exchange(
+                BASE_URL + "changes?cursor=" + cursor, HttpMethod.GET, entity, OrderChangePageResponse.class);
+
+        assertThat(response.getBody().getChanges()).hasSize(1);
+        assertThat(response.getBody().getChanges().getFirst().getOrderId()).isEqualTo(testOrder.getId());
+        assertThat(response.getBody().getChanges().getFirst().isDeleted()).isTrue();
+        assertThat(response.getBody().getChanges().getFirst().getOrder()).isNull();
+    }
+
+    @Test
+    void testFindChangesWaitsForOpenTransaction() throws SQLException {
+        saveOrder();
+        initUserResponses();
+        HttpEntity<Void> entity = initEmptyRequest();
+
+        String cursor = "";
+        OrderChangePageResponse page;
+        do {
+            page = restTemplate.exchange(BASE_URL + "changes?size=50&cursor=" + cursor,
+                    HttpMethod.GET, entity, OrderChangePageResponse.class).getBody();
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        try (Connection connection = postgres.createConnection("")) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "update orders set status = 'IN_PROGRESS' where id = ?")) {
+                statement.setObject(1, testOrder.getId());
+                statement.executeUpdate();
+            }
+
+            Order openOrder = testOrder;
+            saveOrder();
+
+            ResponseEntity<OrderChangePageResponse> response = restTemplate.exchange(
+                    BASE_URL + "changes?cursor=" + cursor, HttpMethod.GET, entity, OrderChangePageResponse.class);
+
+            assertThat(response.getBody().getChanges()).extracting(OrderChangeResponse::getOrderId)
+                    .doesNotContain(openOrder.getId(), testOrder.getId());
+            assertThat(response.getBody().getNextCursor()).isEqualTo(cursor);
+
+            connection.commit();
+
+            response = restTemplate.exchange(
+                    BASE_URL + "changes?cursor=" + cursor, HttpMethod.GET, entity, OrderChangePageResponse.class);
+
+            assertThat(response.getBody().getChanges()).extracting(OrderChangeResponse::getOrderId)
+                    .containsSubsequence(openOrder.getId(), testOrder.getId());
+        }
+    }
+
+    @Test
+    void testFindChangesInvalidCursor() {
+        ResponseEntity<ErrorResponse> response = restTemplate.exchange(
+                BASE_URL + "changes?cursor=invalid", HttpMethod.GET, initEmptyRequest(), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testOrderItemStatementTouchesOrderOnce() throws SQLException {
+        saveOrder();
+        List<UUID> itemIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Item item = new Item();
+            item.setName("test" + i);
+            item.setPrice(10f);
+            itemIds.add(itemRepository.save(item).getId());
+        }
+
+        try (Connection connection = postgres.createConnection("")) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    insert into order_items (id, order_id, order_creation_date, item_id, quantity, price)
+                    select gen_random_uuid(), ?, ?, item_id, 1, 10 from unnest(?) as item_id""")) {
+                statement.setObject(1, testOrder.getId());
+                statement.setObject(2, testOrder.getCreationDate());
+                statement.setArray(3, connection.createArrayOf("uuid", itemIds.toArray()));
+                assertThat(statement.executeUpdate()).isEqualTo(3);
+            }
+            assertThat(orderChangeSeq(connection)).isEqualTo(maxOrderItemChangeSeq(connection) + 1);
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "update order_items set quantity = quantity + 1 where order_id = ?")) {
+                statement.setObject(1, testOrder.getId());
+                assertThat(statement.executeUpdate()).isEqualTo(3);
+            }
+            assertThat(orderChangeSeq(connection)).isEqualTo(maxOrderItemChangeSeq(connection) + 1);
+
+            connection.commit();
+        }
+    }
+
+    private long orderChangeSeq(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select change_seq from orders where id = ?")) {
+            statement.setObject(1, testOrder.getId());
+            ResultSet resultSet = statement.executeQuery();
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private long maxOrderItemChangeSeq(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select max(change_seq) from order_items where order_id = ?")) {
+            statement.setObject(1, testOrder.getId());
+            ResultSet resultSet = statement.executeQuery();
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
     @Test
     void testUpdateOrder() {
         saveOrder();
@@ -305,6 +729,86 @@ class OrderControllerIntegrationTest {
                 request.getStatus().toString());
     }
 
+    @Test
+    void testUpdateOrderTransitionNotAllowed() {
+        saveOrder();
+        initUserResponse();
+
+        OrderRequest request = new OrderRequest();
+        request.setStatus(OrderStatus.DELIVERED);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        HttpEntity<OrderRequest> entity = new HttpEntity<>(request, headers);
+
+        ResponseEntity<ErrorResponse> response = restTemplate.exchange(
+                BASE_URL + testOrder.getId() + "/test@gmail.com",
+                HttpMethod.PUT, entity, ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testTransitionStatuses() {
+        saveOrder();
+        UUID createdOrderId = testOrder.getId();
+        saveOrder();
+        UUID deliveredOrderId = testOrder.getId();
+        Order delivered = orderRepository.findById(deliveredOrderId).orElseThrow();
+        delivered.setStatus(OrderStatus.DELIVERED);
+        orderRepository.save(delivered);
+        UUID missingOrderId = UUID.randomUUID();
+
+        OrderStatusTransitionRequest request = new OrderStatusTransitionRequest();
+        request.setOrderIds(List.of(createdOrderId, deliveredOrderId, missingOrderId));
+        request.setStatus(OrderStatus.COMPLETED);
+
+        ResponseEntity<List<OrderStatusTransitionResponse>> response = restTemplate.exchange(
+                BASE_URL + "statuses", HttpMethod.PATCH, new HttpEntity<>(request),
+                new ParameterizedTypeReference<>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(OrderStatusTransitionResponse::getOutcome).containsExactly(
+                OrderStatusTransitionResponse.Outcome.TRANSITIONED,
+                OrderStatusTransitionResponse.Outcome.NOT_ALLOWED,
+                OrderStatusTransitionResponse.Outcome.NOT_FOUND);
+        assertThat(response.getBody().getFirst().getPreviousStatus()).isEqualTo(OrderStatus.CREATED);
+        assertThat(orderRepository.findById(createdOrderId).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.COMPLETED);
+        assertThat(orderRepository.findById(deliveredOrderId).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.DELIVERED);
+    }
+
+    @Test
+    void testStreamOrderStatuses() throws Exception {
+        saveOrder();
+        initUserResponse();
+
+        HttpRequest streamRequest = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + BASE_URL + "stream/test@gmail.com"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+        HttpResponse<Stream<String>> streamResponse = HttpClient.newHttpClient()
+                .send(streamRequest, HttpResponse.BodyHandlers.ofLines());
+
+        assertThat(streamResponse.statusCode()).isEqualTo(HttpStatus.OK.value());
+
+        orderRequest.setStatus(OrderStatus.COMPLETED);
+        restTemplate.exchange(BASE_URL + testOrder.getId() + "/test@gmail.com",
+                HttpMethod.PUT, initRequest(), OrderResponse.class);
+
+        try (Stream<String> lines = streamResponse.body()) {
+            String data = CompletableFuture.supplyAsync(() -> lines
+                            .filter(line -> line.startsWith("data:"))
+                            .findFirst()
+                            .orElseThrow())
+                    .get(10, TimeUnit.SECONDS);
+
+            assertThat(data).contains(testOrder.getId().toString()).contains("\"status\":\"COMPLETED\"");
+        }
+    }
+
     @Test
     void testUpdateOrderNotFound() {
         HttpEntity<OrderRequest> entity = initRequest();
@@ -360,6 +864,22 @@ class OrderControllerIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    void testDeleteOrderCascadesToOrderItems() {
+        initUserResponse();
+        UUID orderId = restTemplate.postForEntity("/api/v1/orders", initRequest(), OrderResponse.class)
+                .getBody().getId();
+        assertThat(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).hasSize(1);
+
+        ResponseEntity<Void> response = restTemplate.exchange(
+                BASE_URL + orderId,
+                HttpMethod.DELETE, null, Void.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false)).isEmpty();
+        assertThat(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).isEmpty();
+    }
+
     @Test
     void testDeleteNotFound() {
         ResponseEntity<Void> response = restTemplate.exchange(
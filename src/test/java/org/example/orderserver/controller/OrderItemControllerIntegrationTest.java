@@ -2,6 +2,8 @@ package org.example.orderserver.controller;
 
 import org.example.orderserver.dto.OrderItemRequest;
 import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderLineRequest;
+import org.example.orderserver.dto.OrderLinesRequest;
 import org.example.orderserver.entity.Item;
 import org.example.orderserver.entity.Order;
 import org.example.orderserver.entity.OrderItem;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -27,9 +30,11 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @Testcontainers
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -95,6 +100,7 @@ class OrderItemControllerIntegrationTest {
         testOrder.getOrderItems().add(orderItem);
         orderItem.setItem(testItem);
         orderItem.setQuantity(10L);
+        orderItem.setPrice(testItem.getPrice());
         testOrderItem = orderItemRepository.save(orderItem);
     }
 
@@ -106,6 +112,16 @@ class OrderItemControllerIntegrationTest {
         assertThat(response.getBody().getId()).isNotNull();
     }
 
+    @Test
+    void testSaveSameItemAddsQuantity() {
+        ResponseEntity<OrderItemResponse> response = restTemplate.postForEntity(
+                BASE_URL_CREATE + testOrder.getId(), orderItemRequest, OrderItemResponse.class);
+
+        assertThat(response.getBody().getId()).isEqualTo(testOrderItem.getId());
+        assertThat(response.getBody().getQuantity()).isEqualTo(20L);
+        assertThat(orderItemRepository.count()).isEqualTo(1);
+    }
+
     @Test
     void testSaveItemNotFound() {
         orderItemRequest.setItemId(UUID.randomUUID());
@@ -124,6 +140,44 @@ class OrderItemControllerIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    void testUpdateOrderLines() {
+        Item newItem = saveItem();
+
+        ResponseEntity<List<OrderItemResponse>> response = patchLines(testOrder.getId(), false,
+                line(testOrderItem.getItem().getId(), 5L), line(newItem.getId(), 3L));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(OrderItemResponse::getItemId, OrderItemResponse::getQuantity)
+                .containsExactly(tuple(testOrderItem.getItem().getId(), 5L), tuple(newItem.getId(), 3L));
+        assertThat(orderItemRepository.findById(testOrderItem.getId()).orElseThrow().getQuantity()).isEqualTo(5L);
+        assertThat(orderItemRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testUpdateOrderLinesReplace() {
+        Item newItem = saveItem();
+
+        ResponseEntity<List<OrderItemResponse>> response = patchLines(testOrder.getId(), true,
+                line(newItem.getId(), 2L));
+
+        assertThat(response.getBody()).extracting(OrderItemResponse::getItemId).containsExactly(newItem.getId());
+        assertThat(orderItemRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateOrderLinesItemNotFound() {
+        OrderLinesRequest request = new OrderLinesRequest();
+        request.setReplace(true);
+        request.setLines(List.of(line(UUID.randomUUID(), 2L)));
+
+        ResponseEntity<ErrorResponse> response = restTemplate.exchange(BASE_URL_CREATE + testOrder.getId(),
+                HttpMethod.PATCH, new HttpEntity<>(request), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(orderItemRepository.count()).isEqualTo(1);
+    }
+
     @Test
     void testFindOrderItemById() {
         ResponseEntity<OrderItemResponse> response = restTemplate.getForEntity(
@@ -186,4 +240,28 @@ class OrderItemControllerIntegrationTest {
 
         assertThat(deleteResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    private Item saveItem() {
+        Item item = new Item();
+        item.setPrice(2.5f);
+        item.setName("other");
+        return itemRepository.save(item);
+    }
+
+    private ResponseEntity<List<OrderItemResponse>> patchLines(UUID orderId, boolean replace,
+                                                               OrderLineRequest... lines) {
+        OrderLinesRequest request = new OrderLinesRequest();
+        request.setReplace(replace);
+        request.setLines(List.of(lines));
+
+        return restTemplate.exchange(BASE_URL_CREATE + orderId, HttpMethod.PATCH, new HttpEntity<>(request),
+                new ParameterizedTypeReference<>() {});
+    }
+
+    private static OrderLineRequest line(UUID itemId, long quantity) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setItemId(itemId);
+        line.setQuantity(quantity);
+        return line;
+    }
 }
@@ -0,0 +1,132 @@
+package org.example.orderserver.controller;
+
+import org.example.orderserver.dto.DailyItemSalesResponse;
+import org.example.orderserver.dto.DailyReportResponse;
+import org.example.orderserver.dto.OrderItemRequest;
+import org.example.orderserver.entity.Item;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderItem;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.repository.ItemRepository;
+import org.example.orderserver.repository.OrderRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReportControllerIntegrationTest {
+    private static final String BASE_URL = "/api/v1/reports/daily";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        postgres.stop();
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final String range = "?from=" + LocalDate.now().minusDays(1) + "&to=" + LocalDate.now();
+    private Item testItem;
+    private Order testOrder;
+
+    @BeforeEach
+    void initialize() {
+        orderRepository.deleteAll();
+
+        Item item = new Item();
+        item.setName("test");
+        item.setPrice(10f);
+        testItem = itemRepository.save(item);
+
+        Order order = new Order();
+        order.setStatus(OrderStatus.CREATED);
+        order.setUserId(UUID.randomUUID());
+        order.setCreationDate(LocalDate.now());
+        order.setOrderItems(new ArrayList<>());
+
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrder(order);
+        orderItem.setItem(testItem);
+        orderItem.setQuantity(2L);
+        orderItem.setPrice(testItem.getPrice());
+        order.getOrderItems().add(orderItem);
+
+        testOrder = orderRepository.save(order);
+
+        restTemplate.postForEntity(BASE_URL + "/rebuild" + range, null, Void.class);
+    }
+
+    @Test
+    void testFindDailyReport() {
+        ResponseEntity<List<DailyReportResponse>> response = restTemplate.exchange(
+                BASE_URL + range, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getFirst().getOrderCounts()).containsEntry(OrderStatus.CREATED, 1L);
+        assertThat(response.getBody().getFirst().getRevenue()).isEqualTo(20.0);
+    }
+
+    @Test
+    void testLineAddedUpdatesItemSales() {
+        OrderItemRequest orderItemRequest = new OrderItemRequest();
+        orderItemRequest.setItemId(testItem.getId());
+        orderItemRequest.setQuantity(3L);
+
+        restTemplate.postForEntity("/api/v1/order_items/order/" + testOrder.getId(),
+                orderItemRequest, Void.class);
+
+        ResponseEntity<List<DailyItemSalesResponse>> response = restTemplate.exchange(
+                BASE_URL + "/items" + range, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+        DailyItemSalesResponse sales = response.getBody().stream()
+                .filter(itemSales -> itemSales.getItemId().equals(testItem.getId()))
+                .findFirst().orElseThrow();
+        assertThat(sales.getQuantity()).isEqualTo(5L);
+        assertThat(sales.getRevenue()).isEqualTo(50.0);
+    }
+
+    @Test
+    void testEmptyRange() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                BASE_URL + "?from=" + LocalDate.now() + "&to=" + LocalDate.now().minusDays(1), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
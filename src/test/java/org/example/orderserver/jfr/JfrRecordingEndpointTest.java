@@ -0,0 +1,68 @@
+package org.example.orderserver.jfr;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTest {
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void initialize() {
+        endpoint = new JfrRecordingEndpoint(Duration.ofMinutes(1), DataSize.ofMegabytes(10), "default");
+    }
+
+    @AfterEach
+    void cleanup() {
+        endpoint.stop();
+    }
+
+    @Test
+    void testStartAndStop() throws IOException {
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(30L);
+
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(started.getBody()).containsEntry("state", "RUNNING");
+
+        OrderCreateEvent event = new OrderCreateEvent();
+        event.begin();
+        event.orderId = "test";
+        event.commit();
+
+        WebEndpointResponse<Resource> stopped = endpoint.stop();
+
+        assertThat(stopped.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(stopped.getBody().contentLength()).isPositive();
+        assertThat(endpoint.status()).containsEntry("state", "NONE");
+    }
+
+    @Test
+    void testStartWhileRunning() {
+        endpoint.start(30L);
+
+        WebEndpointResponse<Map<String, Object>> response = endpoint.start(30L);
+
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+
+    @Test
+    void testDurationIsBounded() {
+        WebEndpointResponse<Map<String, Object>> response = endpoint.start(3600L);
+
+        assertThat(response.getBody()).containsEntry("duration", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testStopWithoutRecording() {
+        WebEndpointResponse<Resource> response = endpoint.stop();
+
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.orderserver.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.orderserver.entity.OutboxEvent;
+import org.example.orderserver.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxSink outboxSink;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void initialize() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxSink, transactionTemplate, meterRegistry, BATCH_SIZE,
+                MAX_ATTEMPTS, Duration.ofSeconds(1), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testRelayDrainsFullBatches() {
+        List<OutboxEvent> first = events(1, 2);
+        List<OutboxEvent> second = events(3);
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(first, second);
+
+        outboxRelay.relay();
+
+        verify(outboxSink).deliver(first);
+        verify(outboxSink).deliver(second);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+        assertThat(meterRegistry.counter("outbox.events.delivered").count()).isEqualTo(3);
+        assertThat(meterRegistry.get("outbox.lag").gauge().value()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void testRelayEmpty() {
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(List.of());
+
+        outboxRelay.relay();
+
+        verifyNoInteractions(outboxSink);
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void testRelaySinkFailureKeepsEvents() {
+        List<OutboxEvent> batch = events(1, 2);
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(batch);
+        doThrow(new IllegalStateException("Sink unavailable")).when(outboxSink).deliver(anyList());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(outboxEventRepository).scheduleRetry(eq(1L), eq(1), any(OffsetDateTime.class), contains("unavailable"));
+        verify(outboxEventRepository).scheduleRetry(eq(2L), eq(1), any(OffsetDateTime.class), contains("unavailable"));
+        assertThat(meterRegistry.counter("outbox.events.failed").count()).isEqualTo(2);
+    }
+
+    @Test
+    void testRelayDeliversRestOfBatchWhenOneEventFails() {
+        List<OutboxEvent> batch = events(1, 2);
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(batch);
+        doThrow(new IllegalStateException("Rejected")).when(outboxSink).deliver(batch);
+        doThrow(new IllegalStateException("Rejected")).when(outboxSink).deliver(List.of(batch.getFirst()));
+
+        OffsetDateTime before = OffsetDateTime.now();
+        outboxRelay.relay();
+
+        verify(outboxSink).deliver(List.of(batch.get(1)));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+        ArgumentCaptor<OffsetDateTime> nextAttemptAt = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(outboxEventRepository).scheduleRetry(eq(1L), eq(1), nextAttemptAt.capture(), anyString());
+        assertThat(nextAttemptAt.getValue()).isAfterOrEqualTo(before.plusSeconds(1));
+        assertThat(meterRegistry.counter("outbox.events.delivered").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("outbox.events.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRelayBacksOffExponentiallyUpToLimit() {
+        List<OutboxEvent> batch = events(1, 2);
+        batch.get(0).setAttempts(1);
+        batch.get(1).setAttempts(8);
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, outboxSink, transactionTemplate, meterRegistry,
+                BATCH_SIZE, 10, Duration.ofSeconds(1), Duration.ofSeconds(90));
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(batch);
+        doThrow(new IllegalStateException("Rejected")).when(outboxSink).deliver(anyList());
+
+        OffsetDateTime before = OffsetDateTime.now();
+        relay.relay();
+        OffsetDateTime after = OffsetDateTime.now();
+
+        ArgumentCaptor<OffsetDateTime> first = ArgumentCaptor.forClass(OffsetDateTime.class);
+        ArgumentCaptor<OffsetDateTime> second = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(outboxEventRepository).scheduleRetry(eq(1L), eq(2), first.capture(), anyString());
+        verify(outboxEventRepository).scheduleRetry(eq(2L), eq(9), second.capture(), anyString());
+        assertThat(first.getValue()).isBetween(before.plusSeconds(2), after.plusSeconds(2));
+        assertThat(second.getValue()).isBetween(before.plusSeconds(90), after.plusSeconds(90));
+    }
+
+    @Test
+    void testRelayDeadLettersAfterMaxAttempts() {
+        List<OutboxEvent> batch = events(1);
+        batch.getFirst().setAttempts(MAX_ATTEMPTS - 1);
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(batch);
+        doThrow(new IllegalStateException("Rejected")).when(outboxSink).deliver(anyList());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).deadLetter(eq(1L), eq(MAX_ATTEMPTS), contains("Rejected"));
+        verify(outboxEventRepository, never()).scheduleRetry(anyLong(), anyInt(), any(), any());
+        assertThat(meterRegistry.counter("outbox.events.dead_lettered").count()).isEqualTo(1);
+    }
+
+    private List<OutboxEvent> events(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> {
+            OutboxEvent event = new OutboxEvent();
+            event.setId(id);
+            event.setCreatedAt(OffsetDateTime.now().minusSeconds(1));
+            return event;
+        }).toList();
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.orderserver.processing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.orderserver.dto.OrderClaim;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.repository.OrderRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest
+class OrderProcessingSchedulerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("orders.processing.enabled", () -> "true");
+        registry.add("orders.processing.batch-size", () -> "2");
+        registry.add("orders.processing.poll-interval", () -> "1h");
+        registry.add("orders.processing.auto-progress-after", () -> "0s");
+        registry.add("orders.processing.max-attempts", () -> "2");
+    }
+
+    @TestConfiguration
+    static class FailingHandlerConfig {
+        @Bean
+        FailingHandler failingHandler() {
+            return new FailingHandler();
+        }
+    }
+
+    static class FailingHandler implements OrderProcessingHandler {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public OrderStatus getStatus() {
+            return OrderStatus.COMPLETED;
+        }
+
+        @Override
+        public Duration getDelay() {
+            return Duration.ZERO;
+        }
+
+        @Override
+        public OrderStatus process(OrderClaim order) {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Handler failure");
+        }
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        postgres.stop();
+    }
+
+    @Autowired
+    private OrderProcessingScheduler orderProcessingScheduler;
+
+    @Autowired
+    private AutoProgressHandler autoProgressHandler;
+
+    @Autowired
+    private FailingHandler failingHandler;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void initialize() {
+        orderRepository.deleteAll();
+    }
+
+    UUID saveOrder(OrderStatus status) {
+        Order order = new Order();
+        order.setStatus(status);
+        order.setUserId(UUID.randomUUID());
+        order.setOrderItems(new ArrayList<>());
+        order.setCreationDate(LocalDate.now());
+
+        return orderRepository.save(order).getId();
+    }
+
+    @Test
+    void testDrainProgressesCreatedOrders() {
+        List<UUID> createdIds = List.of(saveOrder(OrderStatus.CREATED), saveOrder(OrderStatus.CREATED),
+                saveOrder(OrderStatus.CREATED));
+        UUID inProgressId = saveOrder(OrderStatus.IN_PROGRESS);
+        double transitioned = transitionedCount();
+
+        orderProcessingScheduler.drain(autoProgressHandler);
+
+        assertThat(orderRepository.findAllById(createdIds)).extracting(Order::getStatus)
+                .containsOnly(OrderStatus.IN_PROGRESS);
+        assertThat(orderRepository.findById(inProgressId).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.IN_PROGRESS);
+        assertThat(transitionedCount() - transitioned).isEqualTo(3);
+        assertThat(meterRegistry.get("orders.processing.backlog").tag("status", "CREATED").gauge().value())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void testDrainSkipsLockedOrders() throws Exception {
+        UUID lockedId = saveOrder(OrderStatus.CREATED);
+        UUID freeId = saveOrder(OrderStatus.CREATED);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> lockHolder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    jdbcTemplate.queryForList("select id from orders where id = ? for update", lockedId);
+                    locked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        orderProcessingScheduler.drain(autoProgressHandler);
+        release.countDown();
+        lockHolder.get(10, TimeUnit.SECONDS);
+
+        assertThat(orderRepository.findById(lockedId).orElseThrow().getStatus()).isEqualTo(OrderStatus.CREATED);
+        assertThat(orderRepository.findById(freeId).orElseThrow().getStatus()).isEqualTo(OrderStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void testDrainBacksOffAndGivesUpOnFailingOrders() {
+        UUID orderId = saveOrder(OrderStatus.COMPLETED);
+        failingHandler.calls.set(0);
+
+        orderProcessingScheduler.drain(failingHandler);
+        orderProcessingScheduler.drain(failingHandler);
+
+        assertThat(failingHandler.calls).hasValue(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "select next_attempt_at > now() from order_processing_attempts where order_id = ?",
+                Boolean.class, orderId)).isTrue();
+
+        jdbcTemplate.update("update order_processing_attempts set next_attempt_at = now() where order_id = ?", orderId);
+        orderProcessingScheduler.drain(failingHandler);
+        jdbcTemplate.update("update order_processing_attempts set next_attempt_at = now() where order_id = ?", orderId);
+        orderProcessingScheduler.drain(failingHandler);
+
+        assertThat(failingHandler.calls).hasValue(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "select attempts from order_processing_attempts where order_id = ?", Integer.class, orderId))
+                .isEqualTo(2);
+        assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.COMPLETED);
+    }
+
+    private double transitionedCount() {
+        return meterRegistry.counter("orders.processing.orders", "handler", "AutoProgressHandler",
+                "status", "CREATED", "outcome", "transitioned").count();
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.orderserver.processing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.orderserver.dto.OrderClaim;
+import org.example.orderserver.dto.OrderStatusTransitionRequest;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.repository.OrderRepository;
+import org.example.orderserver.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderProcessingSchedulerTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderProcessingHandler handler;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderProcessingScheduler scheduler;
+
+    @BeforeEach
+    void initialize() {
+        when(handler.getStatus()).thenReturn(OrderStatus.CREATED);
+        lenient().when(handler.getDelay()).thenReturn(Duration.ZERO);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        scheduler = new OrderProcessingScheduler(orderRepository, orderService, transactionTemplate, meterRegistry,
+                List.of(handler), BATCH_SIZE, 2, MAX_ATTEMPTS, Duration.ofMinutes(1), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testDrainAppliesHandlerResults() {
+        OrderClaim progressed = claim();
+        OrderClaim failed = claim();
+        OrderClaim rejected = claim();
+        when(orderRepository.claimBatch(eq("CREATED"), any(), eq(MAX_ATTEMPTS), any(), any(), any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(progressed, failed), List.of(rejected));
+        when(orderRepository.recordProcessingAttempt(any(), any(), any(), eq(60_000L), eq(3_600_000L), any()))
+                .thenReturn(1);
+        when(handler.process(progressed)).thenReturn(OrderStatus.IN_PROGRESS);
+        when(handler.process(failed)).thenThrow(new IllegalStateException("Handler failure"));
+        when(handler.process(rejected)).thenReturn(OrderStatus.DELIVERED);
+
+        scheduler.drain(handler);
+
+        ArgumentCaptor<OrderStatusTransitionRequest> captor = ArgumentCaptor.forClass(OrderStatusTransitionRequest.class);
+        verify(orderService).transitionStatuses(captor.capture());
+        assertThat(captor.getValue().getOrderIds()).containsExactly(progressed.getOrderId());
+        assertThat(captor.getValue().getStatus()).isEqualTo(OrderStatus.IN_PROGRESS);
+        assertThat(count("transitioned")).isEqualTo(1);
+        assertThat(count("failed")).isEqualTo(1);
+        assertThat(count("rejected")).isEqualTo(1);
+        assertThat(count("exhausted")).isZero();
+        verify(orderRepository, times(2)).claimBatch(any(), any(), anyInt(), any(), any(), any(), anyInt());
+        verify(orderRepository).recordProcessingAttempt(eq(failed.getOrderId()), any(), any(), anyLong(), anyLong(),
+                eq(new IllegalStateException("Handler failure").toString()));
+        verify(orderRepository).recordProcessingAttempt(eq(rejected.getOrderId()), any(), any(), anyLong(), anyLong(),
+                eq("Transition CREATED -> DELIVERED not allowed"));
+        verify(orderRepository, never()).recordProcessingAttempt(eq(progressed.getOrderId()), any(), any(), anyLong(),
+                anyLong(), any());
+    }
+
+    @Test
+    void testDrainEmpty() {
+        when(orderRepository.countDue(eq("CREATED"), any())).thenReturn(0L);
+        when(orderRepository.claimBatch(eq("CREATED"), any(), eq(MAX_ATTEMPTS), any(), any(), any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of());
+
+        scheduler.drain(handler);
+
+        verify(handler, never()).process(any());
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testDrainGivesUpAfterMaxAttempts() {
+        OrderClaim skipped = claim();
+        when(orderRepository.claimBatch(eq("CREATED"), any(), eq(MAX_ATTEMPTS), any(), any(), any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(skipped));
+        when(handler.process(skipped)).thenReturn(null);
+        when(orderRepository.recordProcessingAttempt(eq(skipped.getOrderId()), any(), any(), anyLong(), anyLong(),
+                isNull())).thenReturn(MAX_ATTEMPTS);
+
+        scheduler.drain(handler);
+
+        assertThat(count("skipped")).isEqualTo(1);
+        assertThat(count("exhausted")).isEqualTo(1);
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testDrainRecordsAttemptsWhenBatchFails() {
+        OrderClaim first = claim();
+        OrderClaim second = claim();
+        when(orderRepository.claimBatch(eq("CREATED"), any(), eq(MAX_ATTEMPTS), any(), any(), any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(first, second));
+        when(handler.process(any())).thenReturn(OrderStatus.IN_PROGRESS);
+        doThrow(new IllegalStateException("Transition failure")).when(orderService).transitionStatuses(any());
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        scheduler.drain(handler);
+
+        verify(orderRepository).recordProcessingAttempt(eq(first.getOrderId()), any(), any(), anyLong(), anyLong(),
+                contains("Transition failure"));
+        verify(orderRepository).recordProcessingAttempt(eq(second.getOrderId()), any(), any(), anyLong(), anyLong(),
+                contains("Transition failure"));
+        verify(orderRepository, times(1)).claimBatch(any(), any(), anyInt(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testTerminalStatusHandlerRejected() {
+        OrderProcessingHandler terminalHandler = mock(OrderProcessingHandler.class);
+        when(terminalHandler.getStatus()).thenReturn(OrderStatus.DELIVERED);
+
+        assertThrows(IllegalStateException.class, () -> new OrderProcessingScheduler(orderRepository, orderService,
+                transactionTemplate, meterRegistry, List.of(terminalHandler), BATCH_SIZE, 1, MAX_ATTEMPTS,
+                Duration.ofMinutes(1), Duration.ofHours(1)));
+    }
+
+    private OrderClaim claim() {
+        OrderClaim claim = mock(OrderClaim.class);
+        lenient().when(claim.getOrderId()).thenReturn(UUID.randomUUID());
+        lenient().when(claim.getUpdatedAt()).thenReturn(Instant.now());
+        return claim;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("orders.processing.orders", "handler", handler.getClass().getSimpleName(),
+                "status", "CREATED", "outcome", outcome).count();
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.orderserver.repository;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.orderserver.dto.ItemRequest;
+import org.example.orderserver.dto.OrderItemRequest;
+import org.example.orderserver.dto.OrderRequest;
+import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.entity.Item;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.exception.ItemNotFoundException;
+import org.example.orderserver.service.ItemLookup;
+import org.example.orderserver.service.ItemService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ItemSecondLevelCacheIntegrationTest {
+    private static final String USER_ID = "d6d9d8f7-5d9f-4c99-9e6b-2d7e9d7f7c9b";
+    private static final int ORDERS = 20;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static WireMockServer wireMock;
+
+    @BeforeAll
+    static void startServer() {
+        wireMock = new WireMockServer(8080);
+        wireMock.start();
+        WireMock.configureFor("localhost", 8080);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        wireMock.stop();
+        postgres.stop();
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemLookup itemLookup;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Item item;
+
+    @BeforeEach
+    void initialize() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Item newItem = new Item();
+        newItem.setName("test");
+        newItem.setPrice(10f);
+        item = itemRepository.save(newItem);
+
+        wireMock.stubFor(get(urlPathMatching("/v1/users/email/.*"))
+                .willReturn(aResponse()
+                        .withBody("""
+                                {"id": "%s", "name": "Test", "surname": "Test",
+                                 "birthDate": "2020-10-10", "email": "test@gmail.com"}""".formatted(USER_ID))
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(HttpStatus.OK.value())));
+    }
+
+    @Test
+    void testOrderCreateReadsItemFromCache() {
+        createOrder();
+
+        statistics.clear();
+        for (int i = 0; i < ORDERS; i++) {
+            createOrder();
+        }
+        long warmStatements = statistics.getPrepareStatementCount();
+
+        assertThat(statistics.getEntityStatistics(Item.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(Item.CACHE_REGION).getHitCount())
+                .isGreaterThanOrEqualTo(ORDERS);
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isTrue();
+
+        statistics.clear();
+        for (int i = 0; i < ORDERS; i++) {
+            entityManagerFactory.getCache().evict(Item.class);
+            createOrder();
+        }
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        assertThat(statistics.getEntityStatistics(Item.class.getName()).getLoadCount()).isEqualTo(ORDERS);
+        assertThat(coldStatements).isGreaterThan(warmStatements);
+    }
+
+    @Test
+    void testUpdateAndDeleteKeepCacheConsistent() {
+        assertThat(itemService.findById(item.getId()).getPrice()).isEqualTo(10f);
+
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setPrice(20f);
+        itemService.update(item.getId(), itemRequest);
+
+        assertThat(itemService.findById(item.getId()).getPrice()).isEqualTo(20f);
+
+        itemService.delete(item.getId());
+
+        assertThatThrownBy(() -> itemService.findById(item.getId())).isInstanceOf(ItemNotFoundException.class);
+    }
+
+    @Test
+    void testCacheStatisticsExported() {
+        itemService.findById(item.getId());
+        itemService.findById(item.getId());
+
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", Item.CACHE_REGION, "result", "hit").functionCounter())
+                .isNotNull()
+                .satisfies(counter -> assertThat(counter.count()).isPositive());
+    }
+
+    @Test
+    void testItemLookupRecordsOnlyCacheMisses() throws IOException {
+        entityManagerFactory.getCache().evict(Item.class);
+        Path dump = Files.createTempFile("item-lookup", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.orderserver.ItemCacheMiss");
+            recording.start();
+            itemLookup.findById(item.getId());
+            itemLookup.findById(item.getId());
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        assertThat(RecordingFile.readAllEvents(dump))
+                .filteredOn(event -> event.getString("itemId").equals(item.getId().toString()))
+                .hasSize(1);
+        Files.delete(dump);
+    }
+
+    private void createOrder() {
+        OrderItemRequest orderItemRequest = new OrderItemRequest();
+        orderItemRequest.setItemId(item.getId());
+        orderItemRequest.setQuantity(1L);
+
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setStatus(OrderStatus.CREATED);
+        orderRequest.setUserEmail("test@gmail.com");
+        orderRequest.setOrderItems(List.of(orderItemRequest));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+
+        ResponseEntity<OrderResponse> response = restTemplate.postForEntity(
+                "/api/v1/orders", new HttpEntity<>(orderRequest, headers), OrderResponse.class);
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+    }
+}
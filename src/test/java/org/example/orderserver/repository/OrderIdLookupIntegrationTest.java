@@ -0,0 +1,117 @@
+package org.example.orderserver.repository;
+
+import org.example.orderserver.dto.OrderField;
+import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.dto.OrderTotalResponse;
+import org.example.orderserver.service.OrderService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(properties = "orders.lookup.chunk-size=100")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderIdLookupIntegrationTest {
+    private static final int ORDERS = 700;
+    private static final int ARCHIVED_ORDERS = 300;
+    private static final Set<OrderField> FIELDS = EnumSet.of(OrderField.ID, OrderField.STATUS,
+            OrderField.CREATION_DATE, OrderField.ORDER_ITEMS, OrderField.TOTAL);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    private List<UUID> ids;
+
+    @BeforeAll
+    void fillTables() {
+        jdbcTemplate.execute("insert into items (id, name, price) values (gen_random_uuid(), 'item', 2.5)");
+        jdbcTemplate.update("""
+                insert into orders (id, user_id, status, creation_date)
+                select gen_random_uuid(), gen_random_uuid(), 'CREATED', current_date
+                from generate_series(1, ?)""", ORDERS);
+        jdbcTemplate.execute("""
+                insert into order_items (id, order_id, order_creation_date, item_id, quantity, price)
+                select gen_random_uuid(), o.id, o.creation_date, i.id, 2, i.price
+                from orders o cross join items i""");
+        jdbcTemplate.update("""
+                insert into orders_archive (id, user_id, status, creation_date, archived_at)
+                select gen_random_uuid(), gen_random_uuid(), 'COMPLETED', current_date - 365, now()
+                from generate_series(1, ?)""", ARCHIVED_ORDERS);
+        jdbcTemplate.execute("""
+                insert into order_items_archive (id, order_id, item_id, quantity, price)
+                select gen_random_uuid(), o.id, i.id, 4, i.price
+                from orders_archive o cross join items i""");
+
+        ids = new ArrayList<>(Stream.concat(
+                jdbcTemplate.queryForList("select id from orders", UUID.class).stream(),
+                jdbcTemplate.queryForList("select id from orders_archive", UUID.class).stream()).toList());
+        Collections.shuffle(ids, new Random(42));
+    }
+
+    @AfterAll
+    void stopServer() {
+        postgres.stop();
+    }
+
+    @Test
+    void testFindByIdsAcrossChunksInRequestOrder() {
+        List<UUID> requestedIds = new ArrayList<>(ids);
+        requestedIds.add(UUID.randomUUID());
+        requestedIds.add(ids.getFirst());
+
+        List<OrderResponse> orders = orderService.findByIds(requestedIds, true, FIELDS, "Bearer token");
+
+        assertThat(orders).extracting(OrderResponse::getId).isEqualTo(ids);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(1));
+        assertThat(orders.stream().filter(order -> order.getTotal() == 10.0)).hasSize(ARCHIVED_ORDERS);
+        assertThat(orders.stream().filter(order -> order.getTotal() == 5.0)).hasSize(ORDERS);
+    }
+
+    @Test
+    void testFindTotalsByIdsAcrossChunksInRequestOrder() {
+        List<UUID> hotIds = jdbcTemplate.queryForList("select id from orders order by id desc", UUID.class);
+
+        List<OrderTotalResponse> totals = orderService.findTotalsByIds(hotIds);
+
+        assertThat(totals).extracting(OrderTotalResponse::getOrderId).isEqualTo(hotIds);
+        assertThat(totals).allSatisfy(total -> {
+            assertThat(total.getLineCount()).isEqualTo(1L);
+            assertThat(total.getQuantity()).isEqualTo(2L);
+            assertThat(total.getTotal()).isEqualTo(5.0);
+        });
+    }
+}
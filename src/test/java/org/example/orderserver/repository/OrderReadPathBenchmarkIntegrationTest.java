@@ -0,0 +1,147 @@
+package org.example.orderserver.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderserver.dto.OrderField;
+import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.mapper.OrderMapper;
+import org.example.orderserver.service.OrderService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Testcontainers
+@SpringBootTest(properties = "orders.lookup.chunk-size=" + OrderReadPathBenchmarkIntegrationTest.ORDERS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderReadPathBenchmarkIntegrationTest {
+    static final int ORDERS = 2000;
+    private static final int ROUNDS = 5;
+    private static final Set<OrderField> FIELDS = EnumSet.of(OrderField.ID, OrderField.STATUS,
+            OrderField.CREATION_DATE, OrderField.ORDER_ITEMS, OrderField.TOTAL);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private List<UUID> ids;
+
+    @BeforeAll
+    void fillTables() {
+        jdbcTemplate.execute("""
+                insert into items (id, name, price)
+                select gen_random_uuid(), 'item-' || i, 2.5 * i from generate_series(1, 50) i""");
+        jdbcTemplate.update("""
+                insert into orders (id, user_id, status, creation_date)
+                select gen_random_uuid(), gen_random_uuid(), 'CREATED', current_date
+                from generate_series(1, ?)""", ORDERS);
+        jdbcTemplate.execute("""
+                insert into order_items (id, order_id, order_creation_date, item_id, quantity, price)
+                select gen_random_uuid(), o.id, o.creation_date, i.id, 2, i.price
+                from orders o
+                cross join lateral (select id, price from items order by random() limit 3) i""");
+        jdbcTemplate.execute("analyze");
+
+        ids = jdbcTemplate.queryForList("select id from orders", UUID.class);
+    }
+
+    @AfterAll
+    void stopServer() {
+        postgres.stop();
+    }
+
+    @Test
+    void testProjectionReadAllocatesLessThanEntityRead() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Supplier<List<OrderResponse>> entityRead = () -> transaction.execute(status -> entityManager
+                .createQuery("select distinct o from Order o left join fetch o.orderItems where o.id in :ids",
+                        Order.class)
+                .setParameter("ids", ids)
+                .getResultList().stream()
+                .map(order -> {
+                    OrderResponse response = orderMapper.toResponse(order);
+                    response.setTotal(order.getOrderItems().stream()
+                            .mapToDouble(item -> item.getQuantity() * (double) item.getPrice())
+                            .sum());
+                    return response;
+                })
+                .toList());
+        Supplier<List<OrderResponse>> projectionRead = () -> orderService.findByIds(ids, false, FIELDS,
+                "Bearer token");
+
+        assertThat(totals(projectionRead.get())).isEqualTo(totals(entityRead.get())).hasSize(ORDERS);
+
+        long[] entity = measure(entityRead);
+        long[] projection = measure(projectionRead);
+
+        log.info("{} orders: entity read {} KiB, {} ms; projection read {} KiB ({}%), {} ms",
+                ORDERS, entity[0] / 1024, entity[1] / 1_000_000,
+                projection[0] / 1024, projection[0] * 100 / entity[0], projection[1] / 1_000_000);
+        assertThat(projection[0]).isLessThan(entity[0]);
+    }
+
+    private static Map<UUID, Double> totals(List<OrderResponse> orders) {
+        return orders.stream().collect(Collectors.toMap(OrderResponse::getId, OrderResponse::getTotal));
+    }
+
+    private static long[] measure(Supplier<List<OrderResponse>> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < ROUNDS; i++) {
+            read.get();
+        }
+
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            read.get();
+        }
+        return new long[] {(threads.getCurrentThreadAllocatedBytes() - allocated) / ROUNDS,
+                (System.nanoTime() - start) / ROUNDS};
+    }
+}
@@ -0,0 +1,285 @@
+package org.example.orderserver.repository;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.example.orderserver.dto.OrderSearchRequest;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.util.OrderCursor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.orderserver.repository.OrderSearchQueryPlanIntegrationTest$SqlCapture")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderSearchQueryPlanIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final String BIND_LOGGER = "org.hibernate.orm.jdbc.bind";
+    private static final Pattern BIND = Pattern.compile("binding parameter \\((\\d+):(\\w+)\\) <- \\[(.*)]");
+    private static final Set<String> NUMERIC_TYPES = Set.of("INTEGER", "BIGINT", "SMALLINT");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeAll
+    void fillTables() {
+        jdbcTemplate.execute("select create_order_partitions(current_date - 730, current_date)");
+        jdbcTemplate.execute("""
+                insert into items (id, name, price)
+                select gen_random_uuid(), 'item-' || i, 10 from generate_series(1, 100) i""");
+        jdbcTemplate.execute("""
+                insert into orders (id, user_id, status, creation_date)
+                select gen_random_uuid(),
+                       ('00000000-0000-0000-0000-' || lpad((i % 1000)::text, 12, '0'))::uuid,
+                       (array['CREATED','IN_PROGRESS','COMPLETED','DELIVERED','TERMINATED','TAKEN_AWAY'])[i % 6 + 1],
+                       current_date - (i % 730)
+                from generate_series(1, 100000) i""");
+        jdbcTemplate.execute("""
+                insert into order_items (id, order_id, order_creation_date, item_id, quantity, price)
+                select gen_random_uuid(), o.id, o.creation_date, i.id, 1, i.price
+                from orders o
+                cross join lateral (select id, price from items order by random() limit 2) i""");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        postgres.stop();
+    }
+
+    @Test
+    void testStatusAndDateRangeUsesIndex() {
+        OrderSearchRequest filter = new OrderSearchRequest();
+        filter.setStatuses(List.of(OrderStatus.CREATED));
+        filter.setCreatedFrom(LocalDate.now().minusDays(30));
+        filter.setCreatedTo(LocalDate.now());
+
+        assertUsesIndex(searchSql(filter, null), "status_creation_date_id_idx");
+    }
+
+    @Test
+    void testStatusesAndDateRangeUsesIndex() {
+        OrderSearchRequest filter = new OrderSearchRequest();
+        filter.setStatuses(List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS));
+        filter.setCreatedFrom(LocalDate.now().minusDays(30));
+        filter.setCreatedTo(LocalDate.now());
+
+        assertUsesIndex(searchSql(filter, null), "status_creation_date_id_idx", "creation_date_id_idx");
+    }
+
+    @Test
+    void testDateRangeWithCursorUsesIndex() {
+        OrderSearchRequest filter = new OrderSearchRequest();
+        filter.setCreatedFrom(LocalDate.now().minusDays(30));
+        filter.setCreatedTo(LocalDate.now().minusDays(7));
+        OrderCursor cursor = new OrderCursor(LocalDate.now().minusDays(7),
+                UUID.fromString("ffffffff-0000-0000-0000-000000000000"));
+
+        assertUsesIndex(searchSql(filter, cursor), "creation_date_id_idx");
+    }
+
+    @Test
+    void testUserAndStatusUsesIndex() {
+        OrderSearchRequest filter = new OrderSearchRequest();
+        filter.setStatuses(List.of(OrderStatus.DELIVERED));
+        filter.setUserId(UUID.fromString("00000000-0000-0000-0000-000000000042"));
+
+        assertUsesIndex(searchSql(filter, null), "user_id_creation_date_id_idx");
+    }
+
+    @Test
+    void testUserWithCursorUsesIndex() {
+        OrderSearchRequest filter = new OrderSearchRequest();
+        filter.setUserId(UUID.fromString("00000000-0000-0000-0000-000000000042"));
+        OrderCursor cursor = new OrderCursor(LocalDate.now().minusDays(100),
+                UUID.fromString("ffffffff-0000-0000-0000-000000000000"));
+
+        assertUsesIndex(searchSql(filter, cursor), "user_id_creation_date_id_idx");
+    }
+
+    @Test
+    void testItemFilterUsesIndex() {
+        OrderSearchRequest filter = new OrderSearchRequest();
+        filter.setItemId(jdbcTemplate.queryForObject("select id from items limit 1", UUID.class));
+        filter.setCreatedFrom(LocalDate.now().minusDays(7));
+
+        String sql = searchSql(filter, null);
+
+        assertThat(sql).contains("exists");
+        assertUsesIndex(sql, "item_id_order_id_idx", "order_id_idx");
+    }
+
+    @Test
+    void testIdProjectionUsesIndexOnlyScan() {
+        jdbcTemplate.execute("vacuum orders");
+        String ids = jdbcTemplate.queryForObject(
+                "select string_agg(quote_literal(id), ',') from (select id from orders limit 10) o", String.class);
+
+        assertUsesIndex("select o.id, o.status, o.creation_date, o.user_id from orders o where o.id in (" + ids + ")",
+                "Index Only Scan using orders_p");
+    }
+
+    @Test
+    void testDateRangePrunesPartitions() {
+        assertScansPartitions("""
+                select o.id from orders o
+                where o.creation_date >= date_trunc('month', current_date) and o.creation_date <= current_date
+                order by o.creation_date desc, o.id desc
+                limit 21""", "orders_p" + partitionSuffix(0));
+    }
+
+    @Test
+    void testUserCursorPrunesPartitions() {
+        assertScansPartitions("""
+                select o.id from orders o
+                where o.user_id = '00000000-0000-0000-0000-000000000042'
+                  and o.creation_date <= (date_trunc('month', current_date) - interval '23 months')::date - 1
+                  and (o.creation_date, o.id) < ((date_trunc('month', current_date) - interval '23 months')::date - 1,
+                                                  'ffffffff-0000-0000-0000-000000000000')
+                order by o.creation_date desc, o.id desc
+                limit 21""", "orders_p" + partitionSuffix(-25), "orders_p" + partitionSuffix(-24));
+    }
+
+    @Test
+    void testOrderLinesDeletePrunesPartitions() {
+        assertScansPartitions("""
+                delete from order_items
+                where order_id = '00000000-0000-0000-0000-000000000042' and order_creation_date = '%s'
+                  and item_id = any(array['00000000-0000-0000-0000-000000000001']::uuid[])""".formatted(LocalDate.now()),
+                "order_items_p" + partitionSuffix(0));
+    }
+
+    @Test
+    void testOrderLinesReadPrunesPartitions() {
+        assertScansPartitions("""
+                select id, quantity, item_id from order_items
+                where order_id = '00000000-0000-0000-0000-000000000042' and order_creation_date = '%s'"""
+                .formatted(LocalDate.now()), "order_items_p" + partitionSuffix(0));
+    }
+
+    @Test
+    void testUpcomingPartitionsCreated() {
+        assertThat(jdbcTemplate.queryForObject("select to_regclass(?)::text", String.class,
+                "orders_p" + partitionSuffix(3))).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("select to_regclass(?)::text", String.class,
+                "order_items_p" + partitionSuffix(3))).isNotNull();
+    }
+
+    private String partitionSuffix(int months) {
+        return jdbcTemplate.queryForObject("select to_char(current_date + make_interval(months => ?), 'YYYY_MM')",
+                String.class, months);
+    }
+
+    private String searchSql(OrderSearchRequest filter, OrderCursor cursor) {
+        Logger bindLogger = (Logger) LoggerFactory.getLogger(BIND_LOGGER);
+        ListAppender<ILoggingEvent> binds = new ListAppender<>();
+        binds.start();
+        Level level = bindLogger.getLevel();
+        bindLogger.setLevel(Level.TRACE);
+        bindLogger.addAppender(binds);
+        SqlCapture.STATEMENTS.remove();
+        try {
+            orderRepository.searchIds(filter, cursor, 21);
+        } finally {
+            bindLogger.detachAppender(binds);
+            bindLogger.setLevel(level);
+        }
+
+        List<String> statements = SqlCapture.STATEMENTS.get();
+        assertThat(statements).hasSize(1);
+        Map<Integer, String> values = new HashMap<>();
+        for (ILoggingEvent event : binds.list) {
+            if (!event.getThreadName().equals(Thread.currentThread().getName())) {
+                continue;
+            }
+            Matcher matcher = BIND.matcher(event.getFormattedMessage());
+            if (matcher.find()) {
+                String value = matcher.group(3);
+                values.put(Integer.parseInt(matcher.group(1)),
+                        NUMERIC_TYPES.contains(matcher.group(2)) ? value : "'" + value.replace("'", "''") + "'");
+            }
+        }
+
+        StringBuilder sql = new StringBuilder();
+        Matcher placeholders = Pattern.compile("\\?").matcher(statements.getFirst());
+        int position = 0;
+        while (placeholders.find()) {
+            String value = values.get(++position);
+            assertThat(value).as("value bound to parameter %d", position).isNotNull();
+            placeholders.appendReplacement(sql, Matcher.quoteReplacement(value));
+        }
+        placeholders.appendTail(sql);
+
+        return sql.toString();
+    }
+
+    private void assertScansPartitions(String query, String... partitions) {
+        String planText = String.join("\n", jdbcTemplate.queryForList("explain " + query, String.class));
+
+        assertThat(Pattern.compile("on ((?:orders|order_items)_p\\w+)").matcher(planText).results()
+                .map(result -> result.group(1)).distinct().toList())
+                .isNotEmpty()
+                .isSubsetOf(partitions);
+    }
+
+    private void assertUsesIndex(String query, String... indices) {
+        List<String> plan = jdbcTemplate.queryForList("explain " + query, String.class);
+        String planText = String.join("\n", plan);
+
+        assertThat(planText).containsAnyOf(indices);
+        assertThat(Pattern.compile("Seq Scan on (orders\\w*|order_items\\w*)").matcher(planText).results()
+                .map(result -> result.group(1)).toList())
+                .isSubsetOf(jdbcTemplate.queryForList(
+                        "select relname::text from pg_class where relispartition and reltuples = 0", String.class));
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.orderserver.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.time.Duration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void initialize() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry);
+    }
+
+    @AfterEach
+    void cleanup() {
+        TransactionSynchronizationManager.clear();
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void testReadOnlyTransactionRoutesToReplica() {
+        beginTransaction(true);
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+        assertThat(meterRegistry.counter("datasource.routing.connections", "role", "replica").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        beginTransaction(true);
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+        assertThat(ReplicaRoutingContext.hasWritten()).isFalse();
+    }
+
+    @Test
+    void testForcedPrimaryIgnoresReplica() {
+        beginTransaction(true);
+        ReplicaRoutingContext.forcePrimary();
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+        verifyNoInteractions(replicaLagMonitor);
+    }
+
+    @Test
+    void testWriteTransactionRoutesToPrimaryAndMarksWrite() {
+        beginTransaction(false);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+        assertThat(ReplicaRoutingContext.hasWritten()).isTrue();
+    }
+
+    @Test
+    void testInterceptorPinsClientToPrimaryAfterWrite() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofMinutes(1));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isFalse();
+        ReplicaRoutingContext.markWrite();
+        interceptor.afterCompletion(request, response, null, null);
+        assertThat(ReplicaRoutingContext.hasWritten()).isFalse();
+
+        interceptor.preHandle(request, response, null);
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isTrue();
+        interceptor.afterCompletion(request, response, null, null);
+
+        MockHttpServletRequest otherClient = new MockHttpServletRequest();
+        otherClient.addHeader("Authorization", "Bearer other");
+        interceptor.preHandle(otherClient, response, null);
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isFalse();
+    }
+
+    @Test
+    void testInterceptorStickinessExpires() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ZERO);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ReplicaRoutingContext.markWrite();
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.evictExpired();
+
+        interceptor.preHandle(request, response, null);
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isFalse();
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.orderserver.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.orderserver.dto.ItemRequest;
+import org.example.orderserver.dto.ItemResponse;
+import org.example.orderserver.entity.Item;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReplicaRoutingIntegrationTest {
+    private static final String REPLICA_APPLICATION_NAME = "order-server-replica";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("replica.datasource.url", () -> postgres.getJdbcUrl()
+                + (postgres.getJdbcUrl().contains("?") ? "&" : "?")
+                + "ApplicationName=" + REPLICA_APPLICATION_NAME);
+        registry.add("replica.lag-check-interval", () -> "1h");
+        registry.add("replica.sticky-window", () -> "1m");
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        postgres.stop();
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void initialize() {
+        replicaLagMonitor.checkLag();
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String readOnlyApplicationName = readOnly.execute(status -> currentApplicationName());
+        String readWriteApplicationName = readWrite.execute(status -> currentApplicationName());
+
+        assertThat(readOnlyApplicationName).isEqualTo(REPLICA_APPLICATION_NAME);
+        assertThat(readWriteApplicationName).isNotEqualTo(REPLICA_APPLICATION_NAME);
+    }
+
+    @Test
+    void testReadsAfterWriteStickToPrimary() {
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setName("test");
+        itemRequest.setPrice(10f);
+
+        ResponseEntity<ItemResponse> created = restTemplate.exchange("/api/v1/items", HttpMethod.POST,
+                new HttpEntity<>(itemRequest, headers("writer")), ItemResponse.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String itemUrl = "/api/v1/items/" + created.getBody().getId();
+
+        entityManagerFactory.getCache().evict(Item.class);
+        double replicaReads = replicaConnections();
+        ResponseEntity<ItemResponse> writerRead = restTemplate.exchange(itemUrl, HttpMethod.GET,
+                new HttpEntity<>(headers("writer")), ItemResponse.class);
+        assertThat(writerRead.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(replicaConnections()).isEqualTo(replicaReads);
+
+        entityManagerFactory.getCache().evict(Item.class);
+        ResponseEntity<ItemResponse> otherRead = restTemplate.exchange(itemUrl, HttpMethod.GET,
+                new HttpEntity<>(headers("reader")), ItemResponse.class);
+        assertThat(otherRead.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(replicaConnections()).isGreaterThan(replicaReads);
+    }
+
+    private String currentApplicationName() {
+        return jdbcTemplate.queryForObject("select current_setting('application_name')", String.class);
+    }
+
+    private double replicaConnections() {
+        return meterRegistry.counter("datasource.routing.connections", "role", "replica").count();
+    }
+
+    private HttpHeaders headers(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.orderserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.example.orderserver.dto.BatchOperationRequest;
+import org.example.orderserver.dto.BatchOperationResponse;
+import org.example.orderserver.dto.BatchRequest;
+import org.example.orderserver.dto.ItemRequest;
+import org.example.orderserver.dto.ItemResponse;
+import org.example.orderserver.dto.OrderItemRequest;
+import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderRequest;
+import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.entity.UserInfo;
+import org.example.orderserver.exception.InconsistentDataException;
+import org.example.orderserver.exception.ItemNotFoundException;
+import org.example.orderserver.exception.UserNotFoundException;
+import org.example.orderserver.util.GlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchServiceTest {
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private OrderItemService orderItemService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private BatchService batchService;
+
+    private final UUID orderId = UUID.randomUUID();
+    private final UUID itemId = UUID.randomUUID();
+
+    @BeforeEach
+    void initialize() {
+        batchService = new BatchService(orderService, itemService, orderItemService, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), new GlobalExceptionHandler(),
+                transactionManager, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testExecuteResolvesReferences() {
+        OrderResponse orderResponse = new OrderResponse();
+        orderResponse.setId(orderId);
+        when(orderService.save(any(OrderRequest.class), eq("Bearer token"))).thenReturn(orderResponse);
+        when(itemService.save(any(ItemRequest.class))).thenReturn(new ItemResponse(itemId, "Test", 1.1f));
+        OrderItemResponse orderItemResponse = new OrderItemResponse();
+        orderItemResponse.setOrderId(orderId);
+        when(orderItemService.save(eq(orderId), any(OrderItemRequest.class))).thenReturn(orderItemResponse);
+
+        List<BatchOperationResponse> responses = batchService.execute(batchRequest(false,
+                operation("order", BatchOperationRequest.Type.CREATE_ORDER, null,
+                        Map.of("status", "CREATED", "userEmail", "test@gmail.com")),
+                operation("item", BatchOperationRequest.Type.CREATE_ITEM, null, Map.of("name", "Test", "price", 1.1)),
+                operation(null, BatchOperationRequest.Type.CREATE_ORDER_ITEM, "${order}",
+                        Map.of("itemId", "${item.id}", "quantity", 2))), "Bearer token");
+
+        assertThat(responses).extracting(BatchOperationResponse::getOutcome)
+                .containsOnly(BatchOperationResponse.Outcome.SUCCEEDED);
+        assertThat(responses.getFirst().getBody().get("id").asText()).isEqualTo(orderId.toString());
+
+        ArgumentCaptor<OrderItemRequest> request = ArgumentCaptor.forClass(OrderItemRequest.class);
+        verify(orderItemService).save(eq(orderId), request.capture());
+        assertThat(request.getValue().getItemId()).isEqualTo(itemId);
+        assertThat(request.getValue().getQuantity()).isEqualTo(2L);
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testExecuteAtomicRollsBackOnFailure() {
+        SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        when(itemService.save(any(ItemRequest.class))).thenReturn(new ItemResponse(itemId, "Test", 1.1f));
+        doThrow(new ItemNotFoundException("Item not found")).when(itemService).delete(orderId);
+
+        List<BatchOperationResponse> responses = batchService.execute(batchRequest(true,
+                operation("item", BatchOperationRequest.Type.CREATE_ITEM, null, Map.of("name", "Test", "price", 1.1)),
+                operation(null, BatchOperationRequest.Type.DELETE_ITEM, orderId.toString(), null),
+                operation(null, BatchOperationRequest.Type.DELETE_ITEM, "${item}", null)), null);
+
+        assertThat(responses).extracting(BatchOperationResponse::getOutcome).containsExactly(
+                BatchOperationResponse.Outcome.ROLLED_BACK,
+                BatchOperationResponse.Outcome.FAILED,
+                BatchOperationResponse.Outcome.SKIPPED);
+        assertThat(responses.get(1).getStatus()).isEqualTo(404);
+        verify(itemService, never()).delete(itemId);
+        assertThat(transaction.isRollbackOnly()).isTrue();
+    }
+
+    @Test
+    void testExecuteAtomicResolvesUsersBeforeTransaction() {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setId(UUID.randomUUID());
+        OrderResponse orderResponse = new OrderResponse();
+        orderResponse.setId(orderId);
+        when(orderService.findUserByEmail("test@gmail.com", "Bearer token")).thenReturn(userInfo);
+        when(orderService.findUserByEmail("missing@gmail.com", "Bearer token"))
+                .thenThrow(new UserNotFoundException("User not found"));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(orderService.save(any(OrderRequest.class), eq(userInfo))).thenReturn(orderResponse);
+        when(orderService.update(eq(orderId), eq(userInfo), any(OrderRequest.class))).thenReturn(orderResponse);
+
+        BatchOperationRequest update = operation(null, BatchOperationRequest.Type.UPDATE_ORDER, "${order}",
+                Map.of("status", "IN_PROGRESS"));
+        update.setEmail("test@gmail.com");
+        List<BatchOperationResponse> responses = batchService.execute(batchRequest(true,
+                operation("order", BatchOperationRequest.Type.CREATE_ORDER, null,
+                        Map.of("status", "CREATED", "userEmail", "test@gmail.com")),
+                update,
+                operation(null, BatchOperationRequest.Type.CREATE_ORDER, null,
+                        Map.of("status", "CREATED", "userEmail", "missing@gmail.com"))), "Bearer token");
+
+        assertThat(responses).extracting(BatchOperationResponse::getOutcome).containsExactly(
+                BatchOperationResponse.Outcome.ROLLED_BACK,
+                BatchOperationResponse.Outcome.ROLLED_BACK,
+                BatchOperationResponse.Outcome.FAILED);
+        assertThat(responses.getLast().getStatus()).isEqualTo(404);
+
+        InOrder inOrder = inOrder(orderService, transactionManager);
+        inOrder.verify(orderService).findUserByEmail("test@gmail.com", "Bearer token");
+        inOrder.verify(orderService).findUserByEmail("missing@gmail.com", "Bearer token");
+        inOrder.verify(transactionManager).getTransaction(argThat(definition -> definition.getTimeout() == 10));
+        verify(orderService, never()).save(any(OrderRequest.class), anyString());
+    }
+
+    @Test
+    void testExecuteAtomicRejectsReferencedUserEmail() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(itemService.save(any(ItemRequest.class))).thenReturn(new ItemResponse(itemId, "Test", 1.1f));
+
+        BatchOperationRequest update = operation(null, BatchOperationRequest.Type.UPDATE_ORDER,
+                orderId.toString(), Map.of("status", "IN_PROGRESS"));
+        update.setEmail("${item.name}");
+        List<BatchOperationResponse> responses = batchService.execute(batchRequest(true,
+                operation("item", BatchOperationRequest.Type.CREATE_ITEM, null, Map.of("name", "Test", "price", 1.1)),
+                update), "Bearer token");
+
+        assertThat(responses.getLast().getOutcome()).isEqualTo(BatchOperationResponse.Outcome.FAILED);
+        assertThat(responses.getLast().getStatus()).isEqualTo(400);
+        verify(orderService, never()).findUserByEmail(any(), any());
+    }
+
+    @Test
+    void testExecuteIndependentContinuesAfterFailure() {
+        when(itemService.save(any(ItemRequest.class))).thenThrow(new InconsistentDataException("Rejected"));
+
+        List<BatchOperationResponse> responses = batchService.execute(batchRequest(false,
+                operation("item", BatchOperationRequest.Type.CREATE_ITEM, null, Map.of("name", "Test", "price", 1.1)),
+                operation(null, BatchOperationRequest.Type.DELETE_ITEM, "${item}", null),
+                operation(null, BatchOperationRequest.Type.DELETE_ORDER, orderId.toString(), null)), null);
+
+        assertThat(responses).extracting(BatchOperationResponse::getOutcome).containsExactly(
+                BatchOperationResponse.Outcome.FAILED,
+                BatchOperationResponse.Outcome.FAILED,
+                BatchOperationResponse.Outcome.SUCCEEDED);
+        assertThat(responses.get(1).getStatus()).isEqualTo(400);
+        assertThat(responses.get(2).getStatus()).isEqualTo(204);
+        verify(orderService).delete(orderId);
+        verify(itemService, never()).delete(any());
+    }
+
+    @Test
+    void testExecuteInvalidBody() {
+        List<BatchOperationResponse> responses = batchService.execute(batchRequest(false,
+                operation(null, BatchOperationRequest.Type.CREATE_ITEM, null, Map.of("price", -1))), null);
+
+        assertThat(responses.getFirst().getOutcome()).isEqualTo(BatchOperationResponse.Outcome.FAILED);
+        assertThat(responses.getFirst().getStatus()).isEqualTo(400);
+        verifyNoInteractions(itemService);
+    }
+
+    @Test
+    void testExecuteDuplicateRef() {
+        BatchRequest request = batchRequest(false,
+                operation("item", BatchOperationRequest.Type.DELETE_ITEM, itemId.toString(), null),
+                operation("item", BatchOperationRequest.Type.DELETE_ITEM, itemId.toString(), null));
+
+        assertThrows(InconsistentDataException.class, () -> batchService.execute(request, null));
+        verifyNoInteractions(itemService);
+    }
+
+    private BatchOperationRequest operation(String ref, BatchOperationRequest.Type type, String id,
+                                            Map<String, Object> body) {
+        BatchOperationRequest operation = new BatchOperationRequest();
+        operation.setRef(ref);
+        operation.setType(type);
+        operation.setId(id);
+        operation.setBody(body == null ? null : objectMapper.valueToTree(body));
+        return operation;
+    }
+
+    private static BatchRequest batchRequest(boolean atomic, BatchOperationRequest... operations) {
+        BatchRequest request = new BatchRequest();
+        request.setAtomic(atomic);
+        request.setOperations(List.of(operations));
+        return request;
+    }
+}
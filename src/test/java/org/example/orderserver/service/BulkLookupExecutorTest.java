@@ -0,0 +1,65 @@
+package org.example.orderserver.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkLookupExecutorTest {
+    private BulkLookupExecutor bulkLookupExecutor;
+
+    @BeforeEach
+    void initialize() {
+        bulkLookupExecutor = new BulkLookupExecutor(2);
+    }
+
+    @Test
+    void testFetchSingleChunkInline() {
+        List<List<Integer>> chunks = new ArrayList<>();
+
+        List<Integer> result = bulkLookupExecutor.fetch(List.of(1, 2, 1), chunk -> {
+            chunks.add(chunk);
+            return chunk;
+        });
+
+        assertThat(result).containsExactly(1, 2);
+        assertThat(chunks).containsExactly(List.of(1, 2));
+    }
+
+    @Test
+    void testFetchEmpty() {
+        assertThat(bulkLookupExecutor.fetch(List.<Integer>of(), chunk -> fail("Unexpected lookup"))).isEmpty();
+    }
+
+    @Test
+    void testFetchChunksSequentiallyOnCallerThread() {
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        List<Integer> result = bulkLookupExecutor.fetch(List.of(1, 2, 3, 4, 5), chunk -> {
+            chunks.add(chunk);
+            threads.add(Thread.currentThread());
+            return chunk.stream().map(key -> key * 10).toList();
+        });
+
+        assertThat(result).containsExactly(10, 20, 30, 40, 50);
+        assertThat(chunks).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+        assertThat(threads).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    void testFetchChunkFailure() {
+        List<List<Integer>> chunks = new ArrayList<>();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkLookupExecutor.fetch(List.of(1, 2, 3), chunk -> {
+                    chunks.add(chunk);
+                    throw new IllegalArgumentException("Lookup failed");
+                }));
+
+        assertEquals("Lookup failed", exception.getMessage());
+        assertThat(chunks).containsExactly(List.of(1, 2));
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.orderserver.service;
+
+import org.example.orderserver.dto.DailyReportResponse;
+import org.example.orderserver.entity.DailyOrderStats;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.exception.InconsistentDataException;
+import org.example.orderserver.mapper.ReportMapper;
+import org.example.orderserver.repository.DailyItemSalesRepository;
+import org.example.orderserver.repository.DailyOrderStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyRollupServiceTest {
+    @Mock
+    private DailyOrderStatsRepository dailyOrderStatsRepository;
+
+    @Mock
+    private DailyItemSalesRepository dailyItemSalesRepository;
+
+    @Mock
+    private ReportMapper mapper;
+
+    @InjectMocks
+    private DailyRollupService dailyRollupService;
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void testOrderCreated() {
+        UUID orderId = UUID.randomUUID();
+
+        dailyRollupService.orderCreated(orderId);
+
+        verify(dailyOrderStatsRepository).addOrder(orderId, 1);
+        verify(dailyItemSalesRepository).addOrderSales(orderId, 1);
+    }
+
+    @Test
+    void testOrderDeleting() {
+        UUID orderId = UUID.randomUUID();
+
+        dailyRollupService.orderDeleting(orderId);
+
+        verify(dailyOrderStatsRepository).addOrder(orderId, -1);
+        verify(dailyItemSalesRepository).addOrderSales(orderId, -1);
+    }
+
+    @Test
+    void testOrderStatusChanged() {
+        dailyRollupService.orderStatusChanged(today, OrderStatus.CREATED, OrderStatus.IN_PROGRESS);
+
+        verify(dailyOrderStatsRepository).addOrders(today, "CREATED", -1);
+        verify(dailyOrderStatsRepository).addOrders(today, "IN_PROGRESS", 1);
+    }
+
+    @Test
+    void testOrderStatusUnchanged() {
+        dailyRollupService.orderStatusChanged(today, OrderStatus.CREATED, OrderStatus.CREATED);
+
+        verifyNoInteractions(dailyOrderStatsRepository);
+    }
+
+    @Test
+    void testFindDailyReport() {
+        DailyOrderStats created = new DailyOrderStats();
+        created.setDay(today);
+        created.setStatus(OrderStatus.CREATED);
+        created.setOrderCount(2L);
+
+        DailyOrderStats emptied = new DailyOrderStats();
+        emptied.setDay(today.minusDays(1));
+        emptied.setStatus(OrderStatus.CREATED);
+        emptied.setOrderCount(0L);
+
+        when(dailyItemSalesRepository.sumByDayBetween(today.minusDays(1), today))
+                .thenReturn(List.of(new DailyReportResponse(today, 5L, 50.0)));
+        when(dailyOrderStatsRepository.findByDayBetweenOrderByDay(today.minusDays(1), today))
+                .thenReturn(List.of(emptied, created));
+
+        List<DailyReportResponse> report = dailyRollupService.findDailyReport(today.minusDays(1), today);
+
+        assertThat(report).hasSize(1);
+        assertThat(report.getFirst().getOrderCounts()).isEqualTo(Map.of(OrderStatus.CREATED, 2L));
+        assertThat(report.getFirst().getRevenue()).isEqualTo(50.0);
+    }
+
+    @Test
+    void testRebuild() {
+        dailyRollupService.rebuild(today.minusDays(7), today);
+
+        verify(dailyOrderStatsRepository).lockRollupTables();
+        verify(dailyOrderStatsRepository).rebuild(today.minusDays(7), today);
+        verify(dailyItemSalesRepository).rebuild(today.minusDays(7), today);
+    }
+
+    @Test
+    void testRebuildEmptyRange() {
+        assertThrows(InconsistentDataException.class,
+                () -> dailyRollupService.rebuild(today, today.minusDays(1)));
+    }
+}
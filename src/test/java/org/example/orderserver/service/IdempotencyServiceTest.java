@@ -0,0 +1,126 @@
+package org.example.orderserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.orderserver.dto.OrderItemRequest;
+import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.entity.IdempotencyKey;
+import org.example.orderserver.entity.IdempotencyKeyId;
+import org.example.orderserver.exception.IdempotencyKeyConflictException;
+import org.example.orderserver.exception.InconsistentDataException;
+import org.example.orderserver.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    private static final String SCOPE = "order-items:1";
+    private static final String KEY = "key";
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private Supplier<OrderItemResponse> action;
+
+    private IdempotencyService idempotencyService;
+
+    private final OrderItemRequest request = new OrderItemRequest();
+    private final OrderItemResponse response = new OrderItemResponse();
+
+    @BeforeEach
+    void initialize() {
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository, new ObjectMapper(),
+                Duration.ofHours(24));
+
+        request.setItemId(UUID.randomUUID());
+        request.setQuantity(2L);
+
+        response.setId(UUID.randomUUID());
+        response.setQuantity(2L);
+    }
+
+    @Test
+    void testExecuteWithoutKey() {
+        when(action.get()).thenReturn(response);
+
+        assertThat(idempotencyService.execute(SCOPE, null, request, OrderItemResponse.class, action))
+                .isEqualTo(response);
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void testExecuteStoresResponse() {
+        when(idempotencyKeyRepository.findById(new IdempotencyKeyId(SCOPE, KEY))).thenReturn(Optional.empty());
+        when(action.get()).thenReturn(response);
+
+        OrderItemResponse result = idempotencyService.execute(SCOPE, KEY, request, OrderItemResponse.class, action);
+
+        assertThat(result).isEqualTo(response);
+        verify(idempotencyKeyRepository).lock(SCOPE + ":" + KEY);
+        ArgumentCaptor<IdempotencyKey> captor = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(idempotencyKeyRepository).save(captor.capture());
+        assertThat(captor.getValue().getResponse()).contains(response.getId().toString());
+    }
+
+    @Test
+    void testExecuteReplaysStoredResponse() {
+        when(idempotencyKeyRepository.findById(new IdempotencyKeyId(SCOPE, KEY))).thenReturn(Optional.empty());
+        when(action.get()).thenReturn(response);
+        idempotencyService.execute(SCOPE, KEY, request, OrderItemResponse.class, action);
+        ArgumentCaptor<IdempotencyKey> captor = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(idempotencyKeyRepository).save(captor.capture());
+        when(idempotencyKeyRepository.findById(new IdempotencyKeyId(SCOPE, KEY)))
+                .thenReturn(Optional.of(captor.getValue()));
+
+        OrderItemResponse replay = idempotencyService.execute(SCOPE, KEY, request, OrderItemResponse.class, action);
+
+        assertThat(replay).isEqualTo(response);
+        verify(action, times(1)).get();
+        verify(idempotencyKeyRepository, times(1)).save(any());
+    }
+
+    @Test
+    void testExecuteDifferentRequest() {
+        IdempotencyKey stored = new IdempotencyKey();
+        stored.setRequestHash("other");
+        stored.setCreatedAt(OffsetDateTime.now());
+        when(idempotencyKeyRepository.findById(new IdempotencyKeyId(SCOPE, KEY))).thenReturn(Optional.of(stored));
+
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> idempotencyService.execute(SCOPE, KEY, request, OrderItemResponse.class, action));
+        verifyNoInteractions(action);
+    }
+
+    @Test
+    void testExecuteExpiredKey() {
+        IdempotencyKey stored = new IdempotencyKey();
+        stored.setRequestHash("other");
+        stored.setCreatedAt(OffsetDateTime.now().minusDays(2));
+        when(idempotencyKeyRepository.findById(new IdempotencyKeyId(SCOPE, KEY))).thenReturn(Optional.of(stored));
+        when(action.get()).thenReturn(response);
+
+        assertThat(idempotencyService.execute(SCOPE, KEY, request, OrderItemResponse.class, action))
+                .isEqualTo(response);
+    }
+
+    @Test
+    void testExecuteInvalidKey() {
+        assertThrows(InconsistentDataException.class,
+                () -> idempotencyService.execute(SCOPE, " ", request, OrderItemResponse.class, action));
+        assertThrows(InconsistentDataException.class,
+                () -> idempotencyService.execute(SCOPE, "k".repeat(129), request, OrderItemResponse.class, action));
+    }
+}
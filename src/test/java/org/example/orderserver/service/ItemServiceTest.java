@@ -1,9 +1,11 @@
 package org.example.orderserver.service;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.example.orderserver.dto.ItemRequest;
 import org.example.orderserver.dto.ItemResponse;
+import org.example.orderserver.dto.OrderItemResponse;
 import org.example.orderserver.entity.Item;
-import org.example.orderserver.entity.OrderItem;
 import org.example.orderserver.exception.ItemNotFoundException;
 import org.example.orderserver.mapper.ItemMapper;
 import org.example.orderserver.repository.ItemRepository;
@@ -14,7 +16,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,11 +29,23 @@ class ItemServiceTest {
     private ItemRepository itemRepository;
 
     @Mock
-    private OrderItemRepository orderItemRepository;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
 
     @Mock
     private ItemMapper mapper;
 
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -86,63 +99,52 @@ class ItemServiceTest {
     @Test
     void testUpdate() {
         ItemRequest request = new ItemRequest();
-        request.setName("Test");
         request.setPrice(10.1f);
 
-        Item updatedItem = new Item();
-        updatedItem.setId(id);
-        updatedItem.setName("Test");
-        updatedItem.setPrice(10.1f);
-
         ItemResponse updatedItemResponse = new ItemResponse();
         updatedItemResponse.setId(id);
         updatedItemResponse.setName("Test");
         updatedItemResponse.setPrice(10.1f);
 
-        when(itemRepository.findById(id)).thenReturn(Optional.of(item));
-        when(itemRepository.save(updatedItem)).thenReturn(updatedItem);
-        when(mapper.toResponse(any())).thenReturn(updatedItemResponse);
+        when(itemRepository.updateReturning(id, null, 10.1f)).thenReturn(Optional.of(updatedItemResponse));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
 
         ItemResponse response = itemService.update(id, request);
 
         assertThat(response.getPrice()).isEqualTo(request.getPrice());
+        verify(cache).evict(Item.class, id);
+        verify(itemRepository, never()).findById(any());
     }
 
     @Test
     void testUpdateNotFound() {
-        when(itemRepository.findById(id)).thenReturn(Optional.empty());
+        when(itemRepository.updateReturning(id, "Test", 1.1f)).thenReturn(Optional.empty());
 
         assertThrows(ItemNotFoundException.class, () -> itemService.update(id, itemRequest));
+        verifyNoInteractions(entityManagerFactory);
     }
 
     @Test
     void testDelete() {
-        when(itemRepository.existsById(id)).thenReturn(true);
-        when(orderItemRepository.findByItemId(id)).thenReturn(Collections.emptyList());
+        List<OrderItemResponse> orderItems = List.of(
+                new OrderItemResponse(UUID.randomUUID(), 2L, 1.1f, 2.2, UUID.randomUUID(), id));
+        when(orderItemRepository.deleteByItemIdReturning(id)).thenReturn(orderItems);
+        when(itemRepository.deleteReturningId(id)).thenReturn(Optional.of(id));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
 
         itemService.delete(id);
 
-        verify(itemRepository).deleteById(id);
+        verify(cache).evict(Item.class, id);
+        verify(dailyRollupService).itemDeleting(id);
+        verify(outboxService).orderItemsDeleted(orderItems);
+        verify(itemRepository, never()).existsById(any());
     }
 
     @Test
     void testDeleteNotFound() {
-        when(itemRepository.existsById(id)).thenReturn(false);
+        when(itemRepository.deleteReturningId(id)).thenReturn(Optional.empty());
 
         assertThrows(ItemNotFoundException.class, () -> itemService.delete(id));
-    }
-
-    @Test
-    void testDeleteWithOrderItem() {
-        OrderItem orderItem = new OrderItem();
-        orderItem.setItem(item);
-        orderItem.setId(UUID.randomUUID());
-
-        when(orderItemRepository.findByItemId(id)).thenReturn(List.of(orderItem));
-        when(itemRepository.existsById(id)).thenReturn(true);
-
-        itemService.delete(id);
-
-        verify(orderItemRepository).deleteById(orderItem.getId());
+        verifyNoInteractions(dailyRollupService, outboxService);
     }
 }
@@ -2,13 +2,17 @@ package org.example.orderserver.service;
 
 import org.example.orderserver.dto.OrderItemRequest;
 import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderItemUpsert;
+import org.example.orderserver.dto.OrderLineRequest;
+import org.example.orderserver.dto.OrderLinesRequest;
 import org.example.orderserver.entity.Item;
-import org.example.orderserver.entity.Order;
-import org.example.orderserver.entity.OrderItem;
+import org.example.orderserver.entity.OutboxEventType;
+import org.example.orderserver.exception.InconsistentDataException;
 import org.example.orderserver.exception.ItemNotFoundException;
 import org.example.orderserver.exception.OrderItemNotFoundException;
 import org.example.orderserver.exception.OrderNotFoundException;
 import org.example.orderserver.mapper.OrderItemMapper;
+import org.example.orderserver.repository.ArchivedOrderItemRepository;
 import org.example.orderserver.repository.ItemRepository;
 import org.example.orderserver.repository.OrderItemRepository;
 import org.example.orderserver.repository.OrderRepository;
@@ -21,7 +25,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,6 +35,9 @@ class OrderItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemLookup itemLookup;
+
     @Mock
     private OrderItemRepository orderItemRepository;
 
@@ -37,19 +45,27 @@ class OrderItemServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private OrderItemMapper mapper;
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ArchivedOrderItemRepository archivedOrderItemRepository;
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
 
     @InjectMocks
     private OrderItemService orderItemService;
 
     private final OrderItemRequest orderItemRequest = new OrderItemRequest();
-    private final OrderItem orderItem = new OrderItem();
     private final OrderItemResponse orderItemResponse = new OrderItemResponse();
     private final UUID orderItemId = UUID.randomUUID();
     private final UUID itemId = UUID.randomUUID();
     private final UUID orderId = UUID.randomUUID();
+    private final LocalDate creationDate = LocalDate.of(2025, 1, 2);
     private final Item item = new Item();
-    private final Order order = new Order();
 
     @BeforeEach
     void initialize() {
@@ -57,51 +73,91 @@ class OrderItemServiceTest {
         item.setName("Test");
         item.setPrice(1.1f);
 
-        order.setId(orderId);
-        order.setOrderItems(new ArrayList<>());
-
         orderItemRequest.setItemId(itemId);
         orderItemRequest.setQuantity(10L);
 
-        orderItem.setId(orderItemId);
-        orderItem.setItem(item);
-        orderItem.setQuantity(10L);
-        orderItem.setOrder(order);
+        orderItemResponse.setId(orderItemId);
+        orderItemResponse.setOrderId(orderId);
+        orderItemResponse.setQuantity(10L);
     }
 
     @Test
     void testSave() {
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(mapper.toEntity(orderItemRequest)).thenReturn(orderItem);
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(orderItemRepository.save(orderItem)).thenReturn(orderItem);
-        when(mapper.toResponse(orderItem)).thenReturn(orderItemResponse);
+        OrderItemUpsert orderItemUpsert = orderItemUpsert(10L, true);
+        when(itemLookup.findById(itemId)).thenReturn(Optional.of(item));
+        when(orderItemRepository.upsert(any(UUID.class), eq(orderId), eq(itemId), eq(10L), eq(1.1f)))
+                .thenReturn(Optional.of(orderItemUpsert));
+        when(orderItemMapper.toResponse(orderItemUpsert)).thenReturn(orderItemResponse);
 
         OrderItemResponse response = orderItemService.save(orderId, orderItemRequest);
 
         assertThat(response).isEqualTo(orderItemResponse);
+        verify(dailyRollupService).lineQuantityAdded(orderItemId, 10L);
+        verify(outboxService).orderItemChanged(OutboxEventType.ORDER_ITEM_CREATED, orderItemResponse);
+        verify(orderItemRepository, never()).save(any());
+    }
+
+    @Test
+    void testSaveExistingItemAddsQuantity() {
+        OrderItemUpsert orderItemUpsert = orderItemUpsert(25L, false);
+        orderItemResponse.setQuantity(25L);
+        when(itemLookup.findById(itemId)).thenReturn(Optional.of(item));
+        when(orderItemRepository.upsert(any(UUID.class), eq(orderId), eq(itemId), eq(10L), eq(1.1f)))
+                .thenReturn(Optional.of(orderItemUpsert));
+        when(orderItemMapper.toResponse(orderItemUpsert)).thenReturn(orderItemResponse);
+
+        OrderItemResponse response = orderItemService.save(orderId, orderItemRequest);
+
+        assertThat(response.getQuantity()).isEqualTo(25L);
+        verify(dailyRollupService).lineQuantityAdded(orderItemId, 10L);
+        verify(outboxService).orderItemChanged(OutboxEventType.ORDER_ITEM_UPDATED, orderItemResponse);
+    }
+
+    @Test
+    void testSaveExistingItemWithZeroQuantityIsUpdate() {
+        orderItemRequest.setQuantity(0L);
+        orderItemResponse.setQuantity(0L);
+        OrderItemUpsert orderItemUpsert = orderItemUpsert(0L, false);
+        when(itemLookup.findById(itemId)).thenReturn(Optional.of(item));
+        when(orderItemRepository.upsert(any(UUID.class), eq(orderId), eq(itemId), eq(0L), eq(1.1f)))
+                .thenReturn(Optional.of(orderItemUpsert));
+        when(orderItemMapper.toResponse(orderItemUpsert)).thenReturn(orderItemResponse);
+
+        orderItemService.save(orderId, orderItemRequest);
+
+        verify(outboxService).orderItemChanged(OutboxEventType.ORDER_ITEM_UPDATED, orderItemResponse);
     }
 
     @Test
     void testSaveItemNotFound() {
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(itemLookup.findById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(ItemNotFoundException.class, () -> orderItemService.save(orderId, orderItemRequest));
     }
 
     @Test
     void testSaveOrderNotFound() {
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(mapper.toEntity(orderItemRequest)).thenReturn(orderItem);
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(itemLookup.findById(itemId)).thenReturn(Optional.of(item));
+        when(orderItemRepository.upsert(any(UUID.class), eq(orderId), eq(itemId), eq(10L), eq(1.1f)))
+                .thenReturn(Optional.empty());
 
         assertThrows(OrderNotFoundException.class, () -> orderItemService.save(orderId, orderItemRequest));
+        verifyNoInteractions(dailyRollupService, outboxService);
     }
 
     @Test
     void testFindById() {
-        when(orderItemRepository.findById(orderItemId)).thenReturn(Optional.of(orderItem));
-        when(mapper.toResponse(orderItem)).thenReturn(orderItemResponse);
+        when(orderItemRepository.findResponseById(orderItemId)).thenReturn(Optional.of(orderItemResponse));
+
+        OrderItemResponse response = orderItemService.findById(orderItemId);
+
+        assertThat(response).isEqualTo(orderItemResponse);
+    }
+
+    @Test
+    void testFindByIdFallsBackToArchive() {
+        when(orderItemRepository.findResponseById(orderItemId)).thenReturn(Optional.empty());
+        when(archivedOrderItemRepository.findResponseById(orderItemId)).thenReturn(Optional.of(orderItemResponse));
 
         OrderItemResponse response = orderItemService.findById(orderItemId);
 
@@ -110,7 +166,7 @@ class OrderItemServiceTest {
 
     @Test
     void testFindByIdNotFound() {
-        when(orderItemRepository.findById(orderItemId)).thenReturn(Optional.empty());
+        when(orderItemRepository.findResponseById(orderItemId)).thenReturn(Optional.empty());
 
         assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(orderItemId));
     }
@@ -120,47 +176,160 @@ class OrderItemServiceTest {
         OrderItemRequest updatedOrderItemRequest = new OrderItemRequest();
         updatedOrderItemRequest.setQuantity(1000L);
 
-        OrderItem updatedOrderItem = new OrderItem();
-        updatedOrderItem.setId(orderItemId);
-        updatedOrderItem.setQuantity(1000L);
-        updatedOrderItem.setItem(item);
-        updatedOrderItem.setOrder(order);
-
         OrderItemResponse updatedOrderItemResponse = new OrderItemResponse();
         updatedOrderItemResponse.setId(orderItemId);
         updatedOrderItemResponse.setQuantity(1000L);
-        updatedOrderItem.setItem(item);
-        updatedOrderItem.setOrder(order);
+        updatedOrderItemResponse.setOrderId(orderId);
 
-        when(orderItemRepository.findById(orderItemId)).thenReturn(Optional.of(orderItem));
-        when(orderItemRepository.save(updatedOrderItem)).thenReturn(updatedOrderItem);
-        when(mapper.toResponse(updatedOrderItem)).thenReturn(updatedOrderItemResponse);
+        when(orderItemRepository.updateReturning(orderItemId, 1000L)).thenReturn(Optional.of(updatedOrderItemResponse));
 
         OrderItemResponse response = orderItemService.update(orderItemId, updatedOrderItemRequest);
 
         assertThat(response).isEqualTo(updatedOrderItemResponse);
+        verify(dailyRollupService).lineRemoving(orderItemId);
+        verify(dailyRollupService).lineAdded(orderItemId);
+        verify(outboxService).orderItemChanged(OutboxEventType.ORDER_ITEM_UPDATED, updatedOrderItemResponse);
+        verify(orderItemRepository, never()).findById(any());
     }
 
     @Test
     void testUpdateOrderItemNotFound() {
-        when(orderItemRepository.findById(orderItemId)).thenReturn(Optional.empty());
+        when(orderItemRepository.updateReturning(orderItemId, 10L)).thenReturn(Optional.empty());
 
         assertThrows(OrderItemNotFoundException.class, () -> orderItemService.update(orderItemId, orderItemRequest));
+        verifyNoInteractions(outboxService);
     }
 
     @Test
     void testDelete() {
-        when(orderItemRepository.existsById(orderItemId)).thenReturn(true);
+        when(orderItemRepository.deleteReturningOrderId(orderItemId)).thenReturn(Optional.of(orderId));
 
         orderItemService.delete(orderItemId);
 
-        verify(orderItemRepository).deleteById(orderItemId);
+        verify(dailyRollupService).lineRemoving(orderItemId);
+        verify(outboxService).orderItemDeleted(orderId, orderItemId);
     }
 
     @Test
     void testDeleteNotFound() {
-        when(orderItemRepository.existsById(orderItemId)).thenReturn(false);
+        when(orderItemRepository.deleteReturningOrderId(orderItemId)).thenReturn(Optional.empty());
 
         assertThrows(OrderItemNotFoundException.class, () -> orderItemService.delete(orderItemId));
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void testUpdateLines() {
+        UUID newItemId = UUID.randomUUID();
+        OrderItemResponse newLine = new OrderItemResponse();
+        newLine.setId(UUID.randomUUID());
+        newLine.setItemId(newItemId);
+        newLine.setQuantity(3L);
+        OrderItemResponse updatedLine = new OrderItemResponse();
+        updatedLine.setId(orderItemId);
+        updatedLine.setItemId(itemId);
+        updatedLine.setQuantity(5L);
+        orderItemResponse.setItemId(itemId);
+
+        when(orderRepository.lockById(orderId)).thenReturn(Optional.of(creationDate));
+        when(itemRepository.findExistingIds(eq(new UUID[] {itemId, newItemId})))
+                .thenReturn(List.of(itemId, newItemId));
+        when(orderItemRepository.findResponsesByOrderId(orderId, creationDate))
+                .thenReturn(List.of(orderItemResponse));
+        when(orderItemRepository.upsertAll(eq(orderId), eq(creationDate), eq(new UUID[] {itemId, newItemId}),
+                eq(new Long[] {5L, 3L}))).thenReturn(List.of(updatedLine, newLine));
+
+        List<OrderItemResponse> response = orderItemService.updateLines(orderId,
+                linesRequest(false, line(itemId, 5L), line(newItemId, 3L)));
+
+        assertThat(response).containsExactly(updatedLine, newLine);
+        verify(orderItemRepository, never()).deleteByOrderIdAndItemIds(any(), any(), any());
+        verify(dailyRollupService).linesChanging(orderId);
+        verify(dailyRollupService).linesChanged(orderId);
+        verify(outboxService).orderItemChanged(OutboxEventType.ORDER_ITEM_UPDATED, updatedLine);
+        verify(outboxService).orderItemChanged(OutboxEventType.ORDER_ITEM_CREATED, newLine);
+    }
+
+    @Test
+    void testUpdateLinesReplaceRemovesUnlistedLines() {
+        UUID newItemId = UUID.randomUUID();
+        OrderItemResponse newLine = new OrderItemResponse();
+        newLine.setItemId(newItemId);
+        newLine.setQuantity(3L);
+        orderItemResponse.setItemId(itemId);
+
+        when(orderRepository.lockById(orderId)).thenReturn(Optional.of(creationDate));
+        when(itemRepository.findExistingIds(eq(new UUID[] {newItemId}))).thenReturn(List.of(newItemId));
+        when(orderItemRepository.findResponsesByOrderId(orderId, creationDate))
+                .thenReturn(List.of(orderItemResponse));
+        when(orderItemRepository.upsertAll(eq(orderId), eq(creationDate), eq(new UUID[] {newItemId}),
+                eq(new Long[] {3L})))
+                .thenReturn(List.of(newLine));
+
+        List<OrderItemResponse> response = orderItemService.updateLines(orderId,
+                linesRequest(true, line(newItemId, 3L)));
+
+        assertThat(response).containsExactly(newLine);
+        verify(orderItemRepository).deleteByOrderIdAndItemIds(eq(orderId), eq(creationDate), eq(new UUID[] {itemId}));
+        verify(outboxService).orderItemDeleted(orderId, orderItemId);
+    }
+
+    @Test
+    void testUpdateLinesUnchanged() {
+        orderItemResponse.setItemId(itemId);
+
+        when(orderRepository.lockById(orderId)).thenReturn(Optional.of(creationDate));
+        when(itemRepository.findExistingIds(eq(new UUID[] {itemId}))).thenReturn(List.of(itemId));
+        when(orderItemRepository.findResponsesByOrderId(orderId, creationDate))
+                .thenReturn(List.of(orderItemResponse));
+
+        List<OrderItemResponse> response = orderItemService.updateLines(orderId, linesRequest(true, line(itemId, 10L)));
+
+        assertThat(response).containsExactly(orderItemResponse);
+        verifyNoInteractions(dailyRollupService, outboxService);
+    }
+
+    @Test
+    void testUpdateLinesDuplicateItem() {
+        OrderLinesRequest request = linesRequest(false, line(itemId, 1L), line(itemId, 2L));
+
+        assertThrows(InconsistentDataException.class, () -> orderItemService.updateLines(orderId, request));
+        verifyNoInteractions(orderRepository, orderItemRepository);
+    }
+
+    @Test
+    void testUpdateLinesOrderNotFound() {
+        OrderLinesRequest request = linesRequest(false, line(itemId, 1L));
+        when(orderRepository.lockById(orderId)).thenReturn(Optional.empty());
+
+        assertThrows(OrderNotFoundException.class, () -> orderItemService.updateLines(orderId, request));
+    }
+
+    @Test
+    void testUpdateLinesItemNotFound() {
+        OrderLinesRequest request = linesRequest(false, line(itemId, 1L));
+        when(orderRepository.lockById(orderId)).thenReturn(Optional.of(creationDate));
+        when(itemRepository.findExistingIds(eq(new UUID[] {itemId}))).thenReturn(List.of());
+
+        assertThrows(ItemNotFoundException.class, () -> orderItemService.updateLines(orderId, request));
+        verifyNoInteractions(orderItemRepository);
+    }
+
+    private static OrderLineRequest line(UUID itemId, long quantity) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setItemId(itemId);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private static OrderLinesRequest linesRequest(boolean replace, OrderLineRequest... lines) {
+        OrderLinesRequest request = new OrderLinesRequest();
+        request.setReplace(replace);
+        request.setLines(List.of(lines));
+        return request;
+    }
+
+    private OrderItemUpsert orderItemUpsert(long quantity, boolean inserted) {
+        return new OrderItemUpsert(orderItemId, quantity, 1.1f, quantity * 1.1, orderId, itemId, inserted);
     }
 }
@@ -1,9 +1,22 @@
 package org.example.orderserver.service;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.orderserver.dto.OrderChange;
+import org.example.orderserver.dto.OrderChangePageResponse;
+import org.example.orderserver.dto.OrderField;
 import org.example.orderserver.dto.OrderItemRequest;
 import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.dto.OrderPageResponse;
+import org.example.orderserver.dto.OrderProjection;
 import org.example.orderserver.dto.OrderRequest;
 import org.example.orderserver.dto.OrderResponse;
+import org.example.orderserver.dto.OrderSearchRequest;
+import org.example.orderserver.dto.OrderStatusTransition;
+import org.example.orderserver.dto.OrderStatusTransitionRequest;
+import org.example.orderserver.dto.OrderStatusTransitionResponse;
+import org.example.orderserver.dto.OrderStatusView;
+import org.example.orderserver.dto.OrderTotalResponse;
 import org.example.orderserver.entity.Item;
 import org.example.orderserver.entity.Order;
 import org.example.orderserver.entity.OrderItem;
@@ -14,19 +27,27 @@ import org.example.orderserver.exception.ItemNotFoundException;
 import org.example.orderserver.exception.OrderNotFoundException;
 import org.example.orderserver.exception.UserNotFoundException;
 import org.example.orderserver.mapper.OrderMapper;
+import org.example.orderserver.repository.ArchivedOrderItemRepository;
 import org.example.orderserver.repository.ItemRepository;
+import org.example.orderserver.repository.OrderItemRepository;
 import org.example.orderserver.repository.OrderRepository;
+import org.example.orderserver.util.ChangeCursor;
+import org.example.orderserver.util.OrderCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -45,6 +66,27 @@ class OrderServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private OrderStatusStreamService orderStatusStreamService;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private ArchivedOrderItemRepository archivedOrderItemRepository;
+
     @Mock
     private WebClient webClient;
 
@@ -66,7 +108,6 @@ class OrderServiceTest {
     @Mock
     private WebClient.RequestBodySpec requestBodySpec;
 
-    @InjectMocks
     private OrderService orderService;
 
     private final OrderRequest orderRequest = new OrderRequest();
@@ -75,6 +116,7 @@ class OrderServiceTest {
     private final OrderItem orderItem = new OrderItem();
     private final OrderItemRequest orderItemRequest = new OrderItemRequest();
     private final OrderItemResponse orderItemResponse = new OrderItemResponse();
+    private final OrderProjection orderProjection = new OrderProjection();
     private final UserInfo userInfo = new UserInfo();
     private final Item item = new Item();
     private final UUID itemId = UUID.randomUUID();
@@ -83,6 +125,12 @@ class OrderServiceTest {
 
     @BeforeEach
     void initialize() {
+        lenient().when(entityManagerFactory.getCache()).thenReturn(cache);
+        orderService = new OrderService(orderRepository, mapper, new ItemLookup(itemRepository, entityManagerFactory),
+                new UserService(webClient, 500, 4),
+                dailyRollupService, outboxService, orderStatusStreamService, orderItemRepository,
+                archivedOrderItemRepository, new BulkLookupExecutor(1000));
+
         userInfo.setId(UUID.randomUUID());
         userInfo.setName("Test");
         userInfo.setEmail("test@gmail.com");
@@ -103,6 +151,7 @@ class OrderServiceTest {
         orderItemResponse.setOrderId(orderId);
         orderItemResponse.setQuantity(10L);
         orderItemResponse.setItemId(itemId);
+        orderItemResponse.setTotal(11.0);
 
         orderRequest.setUserEmail("test@gmail.com");
         orderRequest.setOrderItems(List.of(orderItemRequest));
@@ -111,6 +160,11 @@ class OrderServiceTest {
         order.setUserId(userInfo.getId());
         order.setOrderItems(List.of(orderItem));
 
+        orderProjection.setId(orderId);
+        orderProjection.setUserId(userInfo.getId());
+        orderProjection.setStatus(OrderStatus.CREATED);
+        orderProjection.setCreationDate(LocalDate.now());
+
         orderResponse.setId(orderId);
         orderResponse.setUserInfo(userInfo);
         orderResponse.setOrderItems(List.of(orderItemResponse));
@@ -163,10 +217,36 @@ class OrderServiceTest {
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(orderRepository.save(order)).thenReturn(order);
         when(mapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderItemRepository.findTotalByOrderId(eq(orderId), any(LocalDate.class))).thenReturn(11.0);
 
         OrderResponse response = orderService.save(orderRequest, "Bearer token");
 
         assertThat(response).isEqualTo(orderResponse);
+        assertThat(response.getTotal()).isEqualTo(11.0);
+        verify(dailyRollupService).orderCreated(orderId);
+        verify(outboxService).orderCreated(order);
+    }
+
+    @Test
+    void testSaveMergesDuplicateItems() {
+        setupGetRequest();
+        setupGetResponse();
+
+        OrderItem duplicateOrderItem = new OrderItem();
+        duplicateOrderItem.setQuantity(5L);
+        order.setOrderItems(new ArrayList<>(List.of(orderItem, duplicateOrderItem)));
+        orderRequest.setOrderItems(List.of(orderItemRequest, orderItemRequest));
+
+        when(mapper.toEntity(orderRequest)).thenReturn(order);
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(orderRepository.save(order)).thenReturn(order);
+        when(mapper.toResponse(order)).thenReturn(orderResponse);
+
+        orderService.save(orderRequest, "Bearer token");
+
+        assertThat(order.getOrderItems()).containsExactly(orderItem);
+        assertThat(orderItem.getQuantity()).isEqualTo(15L);
+        verify(itemRepository).findById(itemId);
     }
 
     @Test
@@ -198,18 +278,44 @@ class OrderServiceTest {
         setupGetRequest();
         setupGetResponse();
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(mapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
+        when(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).thenReturn(List.of(orderItemResponse));
+        when(orderRepository.findTotalsByIds(new UUID[] {orderId}))
+                .thenReturn(List.of(new OrderTotalResponse(orderId, 1L, 10L, 11.0)));
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
 
         OrderResponse response = orderService.findById(
                 orderId, "test@gmail.com", "Bearer token");
 
         assertThat(response).isEqualTo(orderResponse);
+        assertThat(response.getTotal()).isEqualTo(11.0);
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void testFindByIdFallsBackToArchive() {
+        setupGetRequest();
+        setupGetResponse();
+
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false)).thenReturn(List.of());
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, true))
+                .thenReturn(List.of(orderProjection));
+        when(archivedOrderItemRepository.findResponsesByOrderIds(new UUID[] {orderId}))
+                .thenReturn(List.of(orderItemResponse));
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
+
+        OrderResponse response = orderService.findById(
+                orderId, "test@gmail.com", "Bearer token");
+
+        assertThat(response).isEqualTo(orderResponse);
+        verifyNoInteractions(orderItemRepository);
     }
 
     @Test
     void testFindByIdOrderNotFound() {
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false)).thenReturn(List.of());
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, true)).thenReturn(List.of());
 
         assertThrows(OrderNotFoundException.class,
                 () -> orderService.findById(orderId, "test@gmail.com", "Bearer token"));
@@ -220,8 +326,8 @@ class OrderServiceTest {
         setupGetRequest();
         setupGetUserNotFoundResponse();
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(mapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
 
         assertThrows(UserNotFoundException.class,
                 () -> orderService.findById(orderId, "test@gmail.com", "Bearer token"));
@@ -232,10 +338,10 @@ class OrderServiceTest {
         setupGetRequest();
         setupGetResponse();
 
-        order.setUserId(UUID.randomUUID());
+        orderProjection.setUserId(UUID.randomUUID());
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(mapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
 
         assertThrows(InconsistentDataException.class,
                 () -> orderService.findById(orderId, "test@gmail.com", "Bearer token"));
@@ -246,23 +352,54 @@ class OrderServiceTest {
         setupPostRequest();
         setupPostResponse();
 
-        when(orderRepository.findByIds(List.of(orderId))).thenReturn(List.of(order));
-        when(mapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
+        when(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).thenReturn(List.of(orderItemResponse));
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
 
-        List<OrderResponse> response = orderService.findByIds(List.of(orderId), "Bearer token");
+        List<OrderResponse> response = orderService.findByIds(List.of(orderId), false, OrderField.ALL,
+                "Bearer token");
 
         assertThat(response).isEqualTo(List.of(orderResponse));
     }
 
+    @Test
+    void testFindByIdsIncludingArchived() {
+        setupPostRequest();
+        setupPostResponse();
+
+        UUID archivedId = UUID.randomUUID();
+        OrderProjection archivedProjection = new OrderProjection();
+        archivedProjection.setId(archivedId);
+        archivedProjection.setUserId(userInfo.getId());
+        OrderResponse archivedResponse = new OrderResponse();
+        archivedResponse.setId(archivedId);
+
+        when(orderRepository.findProjectionsByIds(List.of(archivedId, orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
+        when(orderRepository.findProjectionsByIds(List.of(archivedId), OrderField.ALL, true))
+                .thenReturn(List.of(archivedProjection));
+        when(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).thenReturn(List.of(orderItemResponse));
+        when(archivedOrderItemRepository.findResponsesByOrderIds(new UUID[] {archivedId})).thenReturn(List.of());
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
+        when(mapper.toResponse(archivedProjection)).thenReturn(archivedResponse);
+
+        List<OrderResponse> response = orderService.findByIds(List.of(archivedId, orderId), true, OrderField.ALL,
+                "Bearer token");
+
+        assertThat(response).containsExactly(archivedResponse, orderResponse);
+    }
+
     @Test
     void testFindByIdsUserNotFound() {
         setupPostRequest();
         setupPostUserNotFoundResponse();
 
-        when(orderRepository.findByIds(List.of(orderId))).thenReturn(List.of(order));
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
 
         assertThrows(UserNotFoundException.class,
-                () -> orderService.findByIds(List.of(orderId), "Bearer token"));
+                () -> orderService.findByIds(List.of(orderId), false, OrderField.ALL, "Bearer token"));
     }
 
     @Test
@@ -270,11 +407,13 @@ class OrderServiceTest {
         setupPostRequest();
         setupPostResponse();
 
-        when(orderRepository.findByStatuses(List.of(OrderStatus.CREATED))).thenReturn(List.of(order));
-        when(mapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderRepository.findProjectionsByStatuses(List.of(OrderStatus.CREATED), OrderField.ALL))
+                .thenReturn(List.of(orderProjection));
+        when(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).thenReturn(List.of(orderItemResponse));
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
 
         List<OrderResponse> response = orderService
-                .findByStatuses(List.of(OrderStatus.CREATED), "Bearer token");
+                .findByStatuses(List.of(OrderStatus.CREATED), OrderField.ALL, "Bearer token");
 
         assertThat(response).isEqualTo(List.of(orderResponse));
     }
@@ -284,10 +423,227 @@ class OrderServiceTest {
         setupPostRequest();
         setupPostUserNotFoundResponse();
 
-        when(orderRepository.findByStatuses(List.of(OrderStatus.CREATED))).thenReturn(List.of(order));
+        when(orderRepository.findProjectionsByStatuses(List.of(OrderStatus.CREATED), OrderField.ALL))
+                .thenReturn(List.of(orderProjection));
 
-        assertThrows(UserNotFoundException.class,
-                () -> orderService.findByStatuses(List.of(OrderStatus.CREATED), "Bearer token"));
+        assertThrows(UserNotFoundException.class, () -> orderService
+                .findByStatuses(List.of(OrderStatus.CREATED), OrderField.ALL, "Bearer token"));
+    }
+
+    @Test
+    void testFindByIdsWithFieldsSkipsItemsAndUsers() {
+        Set<OrderField> fields = OrderField.parse("status");
+        OrderProjection projection = new OrderProjection();
+        projection.setId(orderId);
+        projection.setStatus(OrderStatus.CREATED);
+        OrderResponse projectionResponse = new OrderResponse();
+        projectionResponse.setId(orderId);
+
+        when(orderRepository.findProjectionsByIds(List.of(orderId), fields, false)).thenReturn(List.of(projection));
+        when(mapper.toResponse(projection)).thenReturn(projectionResponse);
+
+        List<OrderResponse> response = orderService.findByIds(List.of(orderId), false, fields, "Bearer token");
+
+        assertThat(response).containsExactly(projectionResponse);
+        assertThat(projectionResponse.getOrderItems()).isNull();
+        assertThat(projectionResponse.getUserInfo()).isNull();
+        verifyNoInteractions(orderItemRepository, archivedOrderItemRepository, webClient);
+    }
+
+    @Test
+    void testParseUnknownField() {
+        assertThrows(InconsistentDataException.class, () -> OrderField.parse("status,secret"));
+    }
+
+    @Test
+    void testFindByUser() {
+        setupGetRequest();
+        setupGetResponse();
+
+        orderResponse.setCreationDate(orderProjection.getCreationDate());
+
+        when(orderRepository.findIdsByUserId(userInfo.getId(), 2))
+                .thenReturn(List.of(orderId, UUID.randomUUID()));
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
+        when(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).thenReturn(List.of(orderItemResponse));
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
+
+        OrderPageResponse response = orderService.findByUser("test@gmail.com", null, 1, false, "Bearer token");
+
+        assertThat(response.getOrders()).isEqualTo(List.of(orderResponse));
+        assertThat(OrderCursor.decode(response.getNextCursor()))
+                .isEqualTo(new OrderCursor(orderProjection.getCreationDate(), orderId));
+    }
+
+    @Test
+    void testFindByUserWithCursor() {
+        setupGetRequest();
+        setupGetResponse();
+
+        OrderCursor cursor = new OrderCursor(LocalDate.now(), UUID.randomUUID());
+
+        when(orderRepository.findIdsByUserIdAfter(userInfo.getId(), cursor.creationDate(), cursor.id(), 21))
+                .thenReturn(List.of(orderId));
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
+        when(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).thenReturn(List.of(orderItemResponse));
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
+
+        OrderPageResponse response = orderService.findByUser("test@gmail.com", cursor.encode(),
+                20, false, "Bearer token");
+
+        assertThat(response.getOrders()).isEqualTo(List.of(orderResponse));
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testFindByUserInvalidCursor() {
+        setupGetRequest();
+        setupGetResponse();
+
+        assertThrows(InconsistentDataException.class,
+                () -> orderService.findByUser("test@gmail.com", "invalid", 20, false, "Bearer token"));
+    }
+
+    @Test
+    void testSearch() {
+        setupPostRequest();
+        setupPostResponse();
+
+        OrderSearchRequest searchRequest = new OrderSearchRequest();
+        searchRequest.setStatuses(List.of(OrderStatus.CREATED));
+
+        when(orderRepository.searchIds(searchRequest, null, 21)).thenReturn(List.of(orderId));
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
+        when(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).thenReturn(List.of(orderItemResponse));
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
+
+        OrderPageResponse response = orderService.search(searchRequest, "Bearer token");
+
+        assertThat(response.getOrders()).isEqualTo(List.of(orderResponse));
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testSearchIncludingArchived() {
+        setupPostRequest();
+        setupPostResponse();
+
+        UUID archivedId = UUID.randomUUID();
+        OrderProjection archivedProjection = new OrderProjection();
+        archivedProjection.setId(archivedId);
+        archivedProjection.setUserId(userInfo.getId());
+        OrderResponse archivedResponse = new OrderResponse();
+        archivedResponse.setId(archivedId);
+        OrderItemResponse archivedItemResponse = new OrderItemResponse(UUID.randomUUID(), 1L, 5f, 5.0,
+                archivedId, itemId);
+        OrderSearchRequest searchRequest = new OrderSearchRequest();
+        searchRequest.setStatuses(List.of(OrderStatus.DELIVERED));
+        searchRequest.setIncludeArchived(true);
+
+        when(orderRepository.searchIds(searchRequest, null, 21)).thenReturn(List.of(orderId, archivedId));
+        when(orderRepository.findProjectionsByIds(List.of(orderId, archivedId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
+        when(orderRepository.findProjectionsByIds(List.of(archivedId), OrderField.ALL, true))
+                .thenReturn(List.of(archivedProjection));
+        when(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).thenReturn(List.of(orderItemResponse));
+        when(archivedOrderItemRepository.findResponsesByOrderIds(new UUID[] {archivedId}))
+                .thenReturn(List.of(archivedItemResponse));
+        when(orderRepository.findTotalsByIds(new UUID[] {orderId}))
+                .thenReturn(List.of(new OrderTotalResponse(orderId, 1L, 10L, 11.0)));
+        when(archivedOrderItemRepository.findTotalsByOrderIds(new UUID[] {archivedId}))
+                .thenReturn(List.of(new OrderTotalResponse(archivedId, 1L, 1L, 5.0)));
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
+        when(mapper.toResponse(archivedProjection)).thenReturn(archivedResponse);
+
+        OrderPageResponse response = orderService.search(searchRequest, "Bearer token");
+
+        assertThat(response.getOrders()).containsExactly(orderResponse, archivedResponse);
+        assertThat(orderResponse.getTotal()).isEqualTo(11.0);
+        assertThat(archivedResponse.getTotal()).isEqualTo(5.0);
+        assertThat(archivedResponse.getOrderItems()).containsExactly(archivedItemResponse);
+        assertThat(archivedResponse.getUserInfo()).isEqualTo(userInfo);
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testSearchEmptyDateRange() {
+        OrderSearchRequest searchRequest = new OrderSearchRequest();
+        searchRequest.setCreatedFrom(LocalDate.now());
+        searchRequest.setCreatedTo(LocalDate.now().minusDays(1));
+
+        assertThrows(InconsistentDataException.class,
+                () -> orderService.search(searchRequest, "Bearer token"));
+    }
+
+    @Test
+    void testFindChanges() {
+        setupPostRequest();
+        setupPostResponse();
+
+        UUID deletedOrderId = UUID.randomUUID();
+        when(orderRepository.findChangesAfter(100, 7, 3)).thenReturn(List.of(
+                orderChange(orderId, 100, 8, false),
+                orderChange(deletedOrderId, 101, 6, true)));
+        when(orderRepository.findProjectionsByIds(List.of(orderId), OrderField.ALL, false))
+                .thenReturn(List.of(orderProjection));
+        when(orderItemRepository.findResponsesByOrderIds(new UUID[] {orderId})).thenReturn(List.of(orderItemResponse));
+        when(mapper.toResponse(orderProjection)).thenReturn(orderResponse);
+
+        OrderChangePageResponse response = orderService.findChanges(
+                new ChangeCursor(100, 7).encode(), 2, "Bearer token");
+
+        assertThat(response.getChanges()).hasSize(2);
+        assertThat(response.getChanges().getFirst().getOrder()).isEqualTo(orderResponse);
+        assertThat(response.getChanges().getLast().getOrderId()).isEqualTo(deletedOrderId);
+        assertThat(response.getChanges().getLast().isDeleted()).isTrue();
+        assertThat(response.isHasMore()).isFalse();
+        assertThat(ChangeCursor.decode(response.getNextCursor())).isEqualTo(new ChangeCursor(101, 6));
+    }
+
+    @Test
+    void testFindChangesHasMore() {
+        UUID deletedOrderId = UUID.randomUUID();
+        when(orderRepository.findChangesAfter(0, 0, 2)).thenReturn(List.of(
+                orderChange(deletedOrderId, 0, 1, true),
+                orderChange(orderId, 5, 2, false)));
+
+        OrderChangePageResponse response = orderService.findChanges(null, 1, "Bearer token");
+
+        assertThat(response.getChanges()).hasSize(1);
+        assertThat(response.getChanges().getFirst().getOrderId()).isEqualTo(deletedOrderId);
+        assertThat(response.isHasMore()).isTrue();
+        assertThat(ChangeCursor.decode(response.getNextCursor())).isEqualTo(new ChangeCursor(0, 1));
+        verify(orderRepository, never()).findProjectionsByIds(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void testFindChangesCursorWithoutXid() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("c42".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InconsistentDataException.class, () -> orderService.findChanges(cursor, 20, "Bearer token"));
+        verify(orderRepository, never()).findChangesAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testFindChangesInvalidCursor() {
+        assertThrows(InconsistentDataException.class,
+                () -> orderService.findChanges("invalid", 20, "Bearer token"));
+    }
+
+    @Test
+    void testFindTotalsByIds() {
+        OrderTotalResponse total = new OrderTotalResponse(orderId, 1L, 10L, 11.0);
+        UUID missingOrderId = UUID.randomUUID();
+
+        when(orderRepository.findTotalsByIds(new UUID[] {missingOrderId, orderId})).thenReturn(List.of(total));
+
+        List<OrderTotalResponse> response = orderService.findTotalsByIds(List.of(missingOrderId, orderId));
+
+        assertThat(response).isEqualTo(List.of(total));
     }
 
     @Test
@@ -304,15 +660,89 @@ class OrderServiceTest {
         updatedOrderResponse.setUserInfo(userInfo);
         updatedOrderResponse.setOrderItems(List.of(orderItemResponse));
         updatedOrderResponse.setStatus("IN_PROGRESS");
+        updatedOrderResponse.setTotal(11.0);
 
+        order.setStatus(OrderStatus.CREATED);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
         when(orderRepository.save(order)).thenReturn(order);
         when(mapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderItemRepository.findTotalByOrderId(orderId, order.getCreationDate())).thenReturn(11.0);
 
         OrderResponse response = orderService.update(orderId, "test@gmail.com",
                 "Bearer token", request);
 
         assertThat(response).isEqualTo(updatedOrderResponse);
+        verify(orderStatusStreamService).publish(order, OrderStatus.CREATED);
+    }
+
+    @Test
+    void testUpdateTransitionNotAllowed() {
+        setupGetRequest();
+        setupGetResponse();
+
+        OrderRequest request = new OrderRequest();
+        request.setStatus(OrderStatus.CREATED);
+        order.setStatus(OrderStatus.COMPLETED);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        assertThrows(InconsistentDataException.class, () -> orderService.update(orderId,
+                "test@gmail.com", "Bearer token", request));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testTransitionStatuses() {
+        UUID completedOrderId = UUID.randomUUID();
+        UUID missingOrderId = UUID.randomUUID();
+        LocalDate day = LocalDate.now();
+
+        OrderStatusTransitionRequest request = new OrderStatusTransitionRequest();
+        request.setOrderIds(List.of(orderId, completedOrderId, missingOrderId, orderId));
+        request.setStatus(OrderStatus.COMPLETED);
+
+        OrderStatusTransition transition = mock(OrderStatusTransition.class);
+        when(transition.getOrderId()).thenReturn(orderId);
+        when(transition.getUserId()).thenReturn(userInfo.getId());
+        when(transition.getCreationDate()).thenReturn(day);
+        when(transition.getPreviousStatus()).thenReturn("IN_PROGRESS");
+        OrderStatusView completed = mock(OrderStatusView.class);
+        when(completed.getOrderId()).thenReturn(completedOrderId);
+        when(completed.getStatus()).thenReturn("COMPLETED");
+
+        when(orderRepository.transitionStatuses(new UUID[] {orderId, completedOrderId, missingOrderId},
+                new String[] {"CREATED", "IN_PROGRESS"}, "COMPLETED")).thenReturn(List.of(transition));
+        when(orderRepository.findStatusesByIds(new UUID[] {completedOrderId, missingOrderId}))
+                .thenReturn(List.of(completed));
+
+        List<OrderStatusTransitionResponse> response = orderService.transitionStatuses(request);
+
+        assertThat(response).extracting(OrderStatusTransitionResponse::getOutcome).containsExactly(
+                OrderStatusTransitionResponse.Outcome.TRANSITIONED,
+                OrderStatusTransitionResponse.Outcome.UNCHANGED,
+                OrderStatusTransitionResponse.Outcome.NOT_FOUND);
+        assertThat(response.getFirst().getPreviousStatus()).isEqualTo(OrderStatus.IN_PROGRESS);
+        verify(dailyRollupService).ordersStatusChanged(day, OrderStatus.IN_PROGRESS, OrderStatus.COMPLETED, 1);
+        verify(outboxService).ordersStatusChanged(List.of(transition), OrderStatus.COMPLETED);
+        verify(orderStatusStreamService).publishAll(anyList());
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void testTransitionStatusesToCreated() {
+        OrderStatusTransitionRequest request = new OrderStatusTransitionRequest();
+        request.setOrderIds(List.of(orderId));
+        request.setStatus(OrderStatus.CREATED);
+
+        OrderStatusView inProgress = mock(OrderStatusView.class);
+        when(inProgress.getOrderId()).thenReturn(orderId);
+        when(inProgress.getStatus()).thenReturn("IN_PROGRESS");
+        when(orderRepository.findStatusesByIds(new UUID[] {orderId})).thenReturn(List.of(inProgress));
+
+        List<OrderStatusTransitionResponse> response = orderService.transitionStatuses(request);
+
+        assertThat(response.getFirst().getOutcome()).isEqualTo(OrderStatusTransitionResponse.Outcome.NOT_ALLOWED);
+        verify(orderRepository, never()).transitionStatuses(any(), any(), any());
     }
 
     @Test
@@ -355,17 +785,40 @@ class OrderServiceTest {
 
     @Test
     void testDelete() {
-        when(orderRepository.existsById(orderId)).thenReturn(true);
+        when(orderRepository.deleteOrderById(orderId)).thenReturn(1);
 
         orderService.delete(orderId);
 
-        verify(orderRepository).deleteById(orderId);
+        verify(dailyRollupService).orderDeleting(orderId);
+        verify(outboxService).orderDeleted(orderId);
+        verify(orderRepository, never()).findById(any());
     }
 
     @Test
     void testDeleteOrderNotFound() {
-        when(orderRepository.existsById(orderId)).thenReturn(false);
+        when(orderRepository.deleteOrderById(orderId)).thenReturn(0);
 
         assertThrows(OrderNotFoundException.class, () -> orderService.delete(orderId));
+        verifyNoInteractions(outboxService);
+    }
+
+    private OrderChange orderChange(UUID changedOrderId, long changeXid, long changeSeq, boolean deleted) {
+        return new OrderChange() {
+            public UUID getOrderId() {
+                return changedOrderId;
+            }
+
+            public Long getChangeXid() {
+                return changeXid;
+            }
+
+            public Long getChangeSeq() {
+                return changeSeq;
+            }
+
+            public Boolean getDeleted() {
+                return deleted;
+            }
+        };
     }
 }
@@ -0,0 +1,106 @@
+package org.example.orderserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.entity.UserInfo;
+import org.example.orderserver.exception.AuthorizationException;
+import org.example.orderserver.exception.UserNotFoundException;
+import org.example.orderserver.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.Duration;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusStreamServiceTest {
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private UserService userService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderStatusStreamService orderStatusStreamService;
+
+    private final UserInfo userInfo = new UserInfo();
+    private final Order order = new Order();
+
+    @BeforeEach
+    void initialize() {
+        orderStatusStreamService = new OrderStatusStreamService(orderRepository, userService,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, Duration.ofMinutes(1));
+
+        userInfo.setId(UUID.randomUUID());
+        userInfo.setEmail("test@gmail.com");
+
+        order.setId(UUID.randomUUID());
+        order.setUserId(userInfo.getId());
+        order.setStatus(OrderStatus.COMPLETED);
+    }
+
+    @Test
+    void testSubscribe() {
+        when(userService.getUserInfoByEmail("token", "test@gmail.com")).thenReturn(userInfo);
+
+        SseEmitter emitter = orderStatusStreamService.subscribe("test@gmail.com", "Bearer token");
+
+        assertThat(emitter.getTimeout()).isEqualTo(Duration.ofMinutes(1).toMillis());
+        assertThat(orderStatusStreamService.getConnectionCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.stream.connections").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testSubscribeUserNotFound() {
+        when(userService.getUserInfoByEmail("token", "test@gmail.com")).thenReturn(null);
+
+        assertThrows(UserNotFoundException.class,
+                () -> orderStatusStreamService.subscribe("test@gmail.com", "Bearer token"));
+        assertThat(orderStatusStreamService.getConnectionCount()).isZero();
+    }
+
+    @Test
+    void testSubscribeInvalidHeader() {
+        assertThrows(AuthorizationException.class,
+                () -> orderStatusStreamService.subscribe("test@gmail.com", "token"));
+    }
+
+    @Test
+    void testPublish() {
+        orderStatusStreamService.publish(order, OrderStatus.CREATED);
+
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(orderRepository).notifyStatusChanged(captor.capture());
+        assertThat(captor.getValue())
+                .contains("\"orderId\":\"" + order.getId() + "\"")
+                .contains("\"userId\":\"" + userInfo.getId() + "\"")
+                .contains("\"status\":\"COMPLETED\"")
+                .contains("\"previousStatus\":\"CREATED\"");
+    }
+
+    @Test
+    void testPublishStatusUnchanged() {
+        orderStatusStreamService.publish(order, OrderStatus.COMPLETED);
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void testDispatchMalformedPayload() {
+        orderStatusStreamService.dispatch("not json");
+
+        assertThat(meterRegistry.counter("orders.stream.events.dispatched").count()).isZero();
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.orderserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.orderserver.dto.OrderItemResponse;
+import org.example.orderserver.entity.Order;
+import org.example.orderserver.entity.OrderStatus;
+import org.example.orderserver.entity.OutboxEvent;
+import org.example.orderserver.entity.OutboxEventType;
+import org.example.orderserver.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private OutboxService outboxService;
+
+    private final UUID orderId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void initialize() {
+        outboxService = new OutboxService(outboxEventRepository, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void testOrderCreated() {
+        Order order = new Order();
+        order.setId(orderId);
+        order.setUserId(userId);
+        order.setStatus(OrderStatus.CREATED);
+        order.setCreationDate(LocalDate.of(2025, 1, 2));
+
+        outboxService.orderCreated(order);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        OutboxEvent event = captor.getValue();
+        assertThat(event.getEventType()).isEqualTo(OutboxEventType.ORDER_CREATED);
+        assertThat(event.getAggregateId()).isEqualTo(orderId);
+        assertThat(event.getCreatedAt()).isNotNull();
+        assertThat(event.getPayload())
+                .contains("\"orderId\":\"" + orderId + "\"")
+                .contains("\"status\":\"CREATED\"")
+                .contains("\"creationDate\":[2025,1,2]")
+                .doesNotContain("previousStatus");
+    }
+
+    @Test
+    void testOrderStatusChanged() {
+        outboxService.orderStatusChanged(orderId, userId, OrderStatus.CREATED, OrderStatus.COMPLETED);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        assertThat(captor.getValue().getEventType()).isEqualTo(OutboxEventType.ORDER_STATUS_CHANGED);
+        assertThat(captor.getValue().getPayload())
+                .contains("\"previousStatus\":\"CREATED\"")
+                .contains("\"status\":\"COMPLETED\"");
+    }
+
+    @Test
+    void testOrderStatusUnchanged() {
+        outboxService.orderStatusChanged(orderId, userId, OrderStatus.CREATED, OrderStatus.CREATED);
+
+        verifyNoInteractions(outboxEventRepository);
+    }
+
+    @Test
+    void testOrderItemDeleted() {
+        UUID orderItemId = UUID.randomUUID();
+
+        outboxService.orderItemDeleted(orderId, orderItemId);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        assertThat(captor.getValue().getEventType()).isEqualTo(OutboxEventType.ORDER_ITEM_DELETED);
+        assertThat(captor.getValue().getAggregateId()).isEqualTo(orderId);
+        assertThat(captor.getValue().getPayload()).contains(orderItemId.toString());
+    }
+
+    @Test
+    void testOrderItemsDeleted() {
+        UUID otherOrderId = UUID.randomUUID();
+        OrderItemResponse first = new OrderItemResponse(UUID.randomUUID(), 1L, 1.5f, 1.5, orderId, UUID.randomUUID());
+        OrderItemResponse second = new OrderItemResponse(UUID.randomUUID(), 2L, 1.5f, 3.0, otherOrderId,
+                first.getItemId());
+
+        outboxService.orderItemsDeleted(List.of(first, second));
+
+        ArgumentCaptor<String[]> payloads = ArgumentCaptor.forClass(String[].class);
+        verify(outboxEventRepository).insertAll(eq(OutboxEventType.ORDER_ITEM_DELETED.name()),
+                eq(new UUID[]{orderId, otherOrderId}), payloads.capture());
+        assertThat(payloads.getValue()[0]).contains(first.getId().toString());
+        assertThat(payloads.getValue()[1]).contains(second.getId().toString());
+    }
+
+    @Test
+    void testOrderItemsDeletedEmpty() {
+        outboxService.orderItemsDeleted(List.of());
+
+        verifyNoInteractions(outboxEventRepository);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.orderserver.service;
+
+import org.example.orderserver.entity.UserInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserServiceTest {
+    private final List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+    @Test
+    void testGetUserInfoByIdsInBatches() {
+        AtomicInteger calls = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> calls.incrementAndGet() == 1
+                        ? respond(ids.subList(0, 2)).delayElement(Duration.ofMillis(100))
+                        : respond(ids.subList(2, 3)))
+                .build();
+        UserService userService = new UserService(webClient, 2, 2);
+
+        List<UserInfo> usersInfo = userService.getUserInfoByIds("token", ids);
+
+        assertThat(calls).hasValue(2);
+        assertThat(usersInfo).extracting(UserInfo::getId).isEqualTo(ids);
+    }
+
+    @Test
+    void testGetUserInfoByIdsSingleBatch() {
+        AtomicInteger calls = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    return respond(ids);
+                })
+                .build();
+        UserService userService = new UserService(webClient, 500, 2);
+
+        List<UserInfo> usersInfo = userService.getUserInfoByIds("token", ids);
+
+        assertThat(calls).hasValue(1);
+        assertThat(usersInfo).extracting(UserInfo::getId).isEqualTo(ids);
+    }
+
+    private static Mono<ClientResponse> respond(List<UUID> userIds) {
+        String body = userIds.stream().map(id -> "{\"id\":\"" + id + "\"}")
+                .reduce((left, right) -> left + "," + right).orElse("");
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("[" + body + "]")
+                .build());
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.orderserver.warmup;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.orderserver.entity.Item;
+import org.example.orderserver.repository.ItemRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.LocalDate;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WarmupRunnerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.minimum-idle", () -> "3");
+        registry.add("warmup.iterations", () -> "10");
+    }
+
+    private static WireMockServer wireMock;
+
+    @BeforeAll
+    static void startServer() {
+        wireMock = new WireMockServer(8080);
+        wireMock.start();
+        WireMock.configureFor("localhost", 8080);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        wireMock.stop();
+        postgres.stop();
+    }
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testReadinessReportedAfterWarmup() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/health/readiness", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(meterRegistry.find("warmup.duration").tag("stage", "total").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+    }
+
+    @Test
+    void testWarmupPreloadsHotItemsAndOpensConnections() {
+        Item hot = saveItem("hot");
+        Item cold = saveItem("cold");
+        jdbcTemplate.update("""
+                insert into daily_item_sales (day, item_id, quantity, revenue)
+                values (?, ?, 10, 100)""", LocalDate.now(), hot.getId());
+        entityManagerFactory.getCache().evictAll();
+        wireMock.resetRequests();
+
+        warmupRunner.run(new DefaultApplicationArguments());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, hot.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Item.class, cold.getId())).isFalse();
+        assertThat(dataSource.getHikariPoolMXBean().getTotalConnections()).isGreaterThanOrEqualTo(3);
+        wireMock.verify(moreThanOrExactly(1), headRequestedFor(urlEqualTo("/v1/users")));
+        assertThat(meterRegistry.find("warmup.duration").tag("stage", "serialization").timer())
+                .isNotNull();
+    }
+
+    private Item saveItem(String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setPrice(10f);
+        return itemRepository.save(item);
+    }
+}